@@ -17,6 +17,12 @@ curl -X POST -H "Content-type:application/json" --data-binary "{\"add-field-type
 
 curl -X POST -H "Content-type:application/json" --data-binary "{\"add-field-type\":{\"name\":\"text_fr\",\"class\":\"solr.TextField\",\"positionIncrementGap\":\"100\",\"analyzer\":{\"tokenizer\":{\"class\":\"solr.StandardTokenizerFactory\"},\"filters\":[{\"class\":\"solr.LowerCaseFilterFactory\"},{\"class\":\"solr.ASCIIFoldingFilterFactory\"},{\"class\":\"solr.FrenchLightStemFilterFactory\"}]}}}" %SOLR_URL%/schema
 
+curl -X POST -H "Content-type:application/json" --data-binary "{\"add-field-type\":{\"name\":\"text_ngram\",\"class\":\"solr.TextField\",\"positionIncrementGap\":\"100\",\"indexAnalyzer\":{\"tokenizer\":{\"class\":\"solr.StandardTokenizerFactory\"},\"filters\":[{\"class\":\"solr.LowerCaseFilterFactory\"},{\"class\":\"solr.ASCIIFoldingFilterFactory\"},{\"class\":\"solr.NGramFilterFactory\",\"minGramSize\":\"3\",\"maxGramSize\":\"20\"}]},\"queryAnalyzer\":{\"tokenizer\":{\"class\":\"solr.StandardTokenizerFactory\"},\"filters\":[{\"class\":\"solr.LowerCaseFilterFactory\"},{\"class\":\"solr.ASCIIFoldingFilterFactory\"}]}}}" %SOLR_URL%/schema
+
+curl -X POST -H "Content-type:application/json" --data-binary "{\"add-field-type\":{\"name\":\"text_edge_ngram\",\"class\":\"solr.TextField\",\"positionIncrementGap\":\"100\",\"indexAnalyzer\":{\"tokenizer\":{\"class\":\"solr.StandardTokenizerFactory\"},\"filters\":[{\"class\":\"solr.LowerCaseFilterFactory\"},{\"class\":\"solr.ASCIIFoldingFilterFactory\"},{\"class\":\"solr.EdgeNGramFilterFactory\",\"minGramSize\":\"2\",\"maxGramSize\":\"20\"}]},\"queryAnalyzer\":{\"tokenizer\":{\"class\":\"solr.StandardTokenizerFactory\"},\"filters\":[{\"class\":\"solr.LowerCaseFilterFactory\"},{\"class\":\"solr.ASCIIFoldingFilterFactory\"}]}}}" %SOLR_URL%/schema
+
+curl -X POST -H "Content-type:application/json" --data-binary "{\"add-field-type\":{\"name\":\"text_suggest\",\"class\":\"solr.TextField\",\"positionIncrementGap\":\"100\",\"analyzer\":{\"tokenizer\":{\"class\":\"solr.StandardTokenizerFactory\"},\"filters\":[{\"class\":\"solr.LowerCaseFilterFactory\"},{\"class\":\"solr.ASCIIFoldingFilterFactory\"}]}}}" %SOLR_URL%/schema
+
 echo.
 echo Adding fields...
 
@@ -27,6 +33,20 @@ curl -X POST -H "Content-type:application/json" --data-binary "{\"add-field\":{\
 curl -X POST -H "Content-type:application/json" --data-binary "{\"add-field\":{\"name\":\"description_fr\",\"type\":\"text_fr\",\"stored\":true,\"indexed\":true}}" %SOLR_URL%/schema
 curl -X POST -H "Content-type:application/json" --data-binary "{\"add-field\":{\"name\":\"category\",\"type\":\"string\",\"stored\":true,\"indexed\":true}}" %SOLR_URL%/schema
 curl -X POST -H "Content-type:application/json" --data-binary "{\"add-field\":{\"name\":\"skill_level\",\"type\":\"string\",\"stored\":true,\"indexed\":true}}" %SOLR_URL%/schema
+curl -X POST -H "Content-type:application/json" --data-binary "{\"add-field\":{\"name\":\"content_hash\",\"type\":\"string\",\"stored\":true,\"indexed\":false}}" %SOLR_URL%/schema
+
+echo.
+echo Adding n-gram copy fields...
+
+curl -X POST -H "Content-type:application/json" --data-binary "{\"add-field\":{\"name\":\"title_en_ngram\",\"type\":\"text_ngram\",\"stored\":false,\"indexed\":true},\"add-copy-field\":{\"source\":\"title_en\",\"dest\":\"title_en_ngram\"}}" %SOLR_URL%/schema
+curl -X POST -H "Content-type:application/json" --data-binary "{\"add-field\":{\"name\":\"title_fr_ngram\",\"type\":\"text_ngram\",\"stored\":false,\"indexed\":true},\"add-copy-field\":{\"source\":\"title_fr\",\"dest\":\"title_fr_ngram\"}}" %SOLR_URL%/schema
+curl -X POST -H "Content-type:application/json" --data-binary "{\"add-field\":{\"name\":\"title_en_edge\",\"type\":\"text_edge_ngram\",\"stored\":false,\"indexed\":true},\"add-copy-field\":{\"source\":\"title_en\",\"dest\":\"title_en_edge\"}}" %SOLR_URL%/schema
+curl -X POST -H "Content-type:application/json" --data-binary "{\"add-field\":{\"name\":\"title_fr_edge\",\"type\":\"text_edge_ngram\",\"stored\":false,\"indexed\":true},\"add-copy-field\":{\"source\":\"title_fr\",\"dest\":\"title_fr_edge\"}}" %SOLR_URL%/schema
+
+echo.
+echo Adding suggester...
+
+curl -X POST -H "Content-type:application/json" --data-binary "{\"add-searchcomponent\":{\"name\":\"suggest\",\"class\":\"solr.SuggestComponent\",\"suggester\":[{\"name\":\"title_en\",\"lookupImpl\":\"AnalyzingInfixLookupFactory\",\"dictionaryImpl\":\"DocumentDictionaryFactory\",\"field\":\"title_en\",\"suggestAnalyzerFieldType\":\"text_suggest\",\"indexPath\":\"suggest_title_en\",\"highlight\":false,\"buildOnStartup\":\"false\",\"buildOnCommit\":\"true\"},{\"name\":\"title_fr\",\"lookupImpl\":\"AnalyzingInfixLookupFactory\",\"dictionaryImpl\":\"DocumentDictionaryFactory\",\"field\":\"title_fr\",\"suggestAnalyzerFieldType\":\"text_suggest\",\"indexPath\":\"suggest_title_fr\",\"highlight\":false,\"buildOnStartup\":\"false\",\"buildOnCommit\":\"true\"}]},\"add-requesthandler\":{\"name\":\"/suggest\",\"class\":\"solr.SearchHandler\",\"startup\":\"lazy\",\"defaults\":{\"suggest\":\"true\",\"suggest.count\":\"10\"},\"components\":[\"suggest\"]}}" %SOLR_URL%/config
 
 echo.
 echo =========================================
@@ -54,6 +54,54 @@ curl -X POST -H "Content-type:application/json" --data-binary '{
   }
 }' "${SOLR_URL}/schema" 2>/dev/null && echo "  ✓ text_fr added"
 
+# Add n-gram field types (infix and prefix matching on titles)
+add_ngram_type() {
+  local name=$1
+  local filter=$2
+  local min=$3
+  curl -X POST -H "Content-type:application/json" --data-binary "{
+    \"add-field-type\": {
+      \"name\": \"$name\",
+      \"class\": \"solr.TextField\",
+      \"positionIncrementGap\": \"100\",
+      \"indexAnalyzer\": {
+        \"tokenizer\": {\"class\": \"solr.StandardTokenizerFactory\"},
+        \"filters\": [
+          {\"class\": \"solr.LowerCaseFilterFactory\"},
+          {\"class\": \"solr.ASCIIFoldingFilterFactory\"},
+          {\"class\": \"$filter\", \"minGramSize\": \"$min\", \"maxGramSize\": \"20\"}
+        ]
+      },
+      \"queryAnalyzer\": {
+        \"tokenizer\": {\"class\": \"solr.StandardTokenizerFactory\"},
+        \"filters\": [
+          {\"class\": \"solr.LowerCaseFilterFactory\"},
+          {\"class\": \"solr.ASCIIFoldingFilterFactory\"}
+        ]
+      }
+    }
+  }" "${SOLR_URL}/schema" 2>/dev/null && echo "  ✓ $name added"
+}
+
+add_ngram_type "text_ngram" "solr.NGramFilterFactory" 3
+add_ngram_type "text_edge_ngram" "solr.EdgeNGramFilterFactory" 2
+
+# Add text_suggest field type (typeahead analysis, no stemming)
+curl -X POST -H "Content-type:application/json" --data-binary '{
+  "add-field-type": {
+    "name": "text_suggest",
+    "class": "solr.TextField",
+    "positionIncrementGap": "100",
+    "analyzer": {
+      "tokenizer": {"class": "solr.StandardTokenizerFactory"},
+      "filters": [
+        {"class": "solr.LowerCaseFilterFactory"},
+        {"class": "solr.ASCIIFoldingFilterFactory"}
+      ]
+    }
+  }
+}' "${SOLR_URL}/schema" 2>/dev/null && echo "  ✓ text_suggest added"
+
 echo ""
 echo "📝 Adding fields..."
 
@@ -61,8 +109,9 @@ echo "📝 Adding fields..."
 add_field() {
   local name=$1
   local type=$2
+  local indexed=${3:-true}
   curl -X POST -H "Content-type:application/json" --data-binary \
-    "{\"add-field\":{\"name\":\"$name\",\"type\":\"$type\",\"stored\":true,\"indexed\":true}}" \
+    "{\"add-field\":{\"name\":\"$name\",\"type\":\"$type\",\"stored\":true,\"indexed\":$indexed}}" \
     "${SOLR_URL}/schema" 2>/dev/null && echo "  ✓ $name ($type)"
 }
 
@@ -74,6 +123,59 @@ add_field "description_en" "text_en"
 add_field "description_fr" "text_fr"
 add_field "category" "string"
 add_field "skill_level" "string"
+add_field "content_hash" "string" false  # only read back, never queried
+
+echo ""
+echo "🔗 Adding n-gram copy fields..."
+
+# Function to add an indexed-only field fed by copyField
+add_copy_field() {
+  local source=$1
+  local name=$2
+  local type=$3
+  curl -X POST -H "Content-type:application/json" --data-binary \
+    "{\"add-field\":{\"name\":\"$name\",\"type\":\"$type\",\"stored\":false,\"indexed\":true},\"add-copy-field\":{\"source\":\"$source\",\"dest\":\"$name\"}}" \
+    "${SOLR_URL}/schema" 2>/dev/null && echo "  ✓ $source -> $name ($type)"
+}
+
+add_copy_field "title_en" "title_en_ngram" "text_ngram"
+add_copy_field "title_fr" "title_fr_ngram" "text_ngram"
+add_copy_field "title_en" "title_en_edge" "text_edge_ngram"
+add_copy_field "title_fr" "title_fr_edge" "text_edge_ngram"
+
+echo ""
+echo "💡 Adding suggester..."
+
+# Function to add an infix suggester on a title field
+add_suggester() {
+  local field=$1
+  echo "{
+    \"name\": \"$field\",
+    \"lookupImpl\": \"AnalyzingInfixLookupFactory\",
+    \"dictionaryImpl\": \"DocumentDictionaryFactory\",
+    \"field\": \"$field\",
+    \"suggestAnalyzerFieldType\": \"text_suggest\",
+    \"indexPath\": \"suggest_$field\",
+    \"highlight\": false,
+    \"buildOnStartup\": \"false\",
+    \"buildOnCommit\": \"true\"
+  }"
+}
+
+curl -X POST -H "Content-type:application/json" --data-binary "{
+  \"add-searchcomponent\": {
+    \"name\": \"suggest\",
+    \"class\": \"solr.SuggestComponent\",
+    \"suggester\": [$(add_suggester title_en), $(add_suggester title_fr)]
+  },
+  \"add-requesthandler\": {
+    \"name\": \"/suggest\",
+    \"class\": \"solr.SearchHandler\",
+    \"startup\": \"lazy\",
+    \"defaults\": {\"suggest\": \"true\", \"suggest.count\": \"10\"},
+    \"components\": [\"suggest\"]
+  }
+}" "${SOLR_URL}/config" 2>/dev/null && echo "  ✓ /suggest handler added"
 
 echo ""
 echo "========================================="
@@ -0,0 +1,58 @@
+package com.bet99.exercise.jobsearch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Loads the bundled NOC CSV so every benchmark runs against real rows.
+ */
+public final class NocData {
+
+    public static final String STRUCTURE_CSV = "data/noc_2021_version_1.0_classification_structure.csv";
+
+    private NocData() {
+    }
+
+    /**
+     * Data rows of the classification structure file, header excluded.
+     */
+    public static List<String> structureLines() {
+        try (var reader = new BufferedReader(open())) {
+            return reader.lines().skip(1).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The whole classification structure file, header included.
+     */
+    public static char[] structureChars() {
+        try (var reader = open()) {
+            var text = new StringBuilder(256 * 1024);
+            var buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                text.append(buffer, 0, read);
+            }
+            var chars = new char[text.length()];
+            text.getChars(0, text.length(), chars, 0);
+            return chars;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Reader open() {
+        var stream = NocData.class.getClassLoader().getResourceAsStream(STRUCTURE_CSV);
+        if (stream == null) {
+            throw new IllegalStateException("Missing classpath resource " + STRUCTURE_CSV);
+        }
+        return new InputStreamReader(stream, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,78 @@
+package com.bet99.exercise.jobsearch.cache;
+
+import com.bet99.exercise.jobsearch.dto.SearchResponse;
+import com.bet99.exercise.jobsearch.model.JobTitle;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cached search result encoding: JDK serialization (the Redis cache default) against the compact binary format,
+ * with full documents and with ids hydrated from a {@link JobTitleStore}.
+ * Encoded sizes are printed at setup, since entries per MB of Redis matter as much as decode time.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchResultSerializerBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private final RedisSerializer<Object> jdk = RedisSerializer.java();
+    private final SearchResultRedisSerializer binary = new SearchResultRedisSerializer(jdk, 512);
+    private final JobTitleStore store = new JobTitleStore();
+    private final SearchResultRedisSerializer idOnly = new SearchResultRedisSerializer(jdk, 512, store);
+
+    private SearchResponse response;
+    private byte[] jdkBytes;
+    private byte[] binaryBytes;
+    private byte[] idOnlyBytes;
+
+    @Setup
+    public void setUp() {
+        var results = new ArrayList<JobTitle>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            results.add(new JobTitle("21232-" + i, "21232", "Software developer " + i,
+                    "Développeur de logiciels " + i, "Develops, writes and tests software",
+                    "Développe, écrit et teste des logiciels", "Information Technology", "A"));
+        }
+        response = SearchResponse.of(results, 1234, 3, pageSize);
+        jdkBytes = jdk.serialize(response);
+        binaryBytes = binary.serialize(response);
+        store.replaceAll(results);
+        idOnlyBytes = idOnly.serialize(response);
+        System.out.printf("%n%d results: JDK %d bytes, binary %d bytes, id-only %d bytes%n",
+                pageSize, jdkBytes.length, binaryBytes.length, idOnlyBytes.length);
+    }
+
+    @Benchmark
+    public byte[] serializeJdk() {
+        return jdk.serialize(response);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binary.serialize(response);
+    }
+
+    @Benchmark
+    public Object deserializeJdk() {
+        return jdk.deserialize(jdkBytes);
+    }
+
+    @Benchmark
+    public Object deserializeBinary() {
+        return binary.deserialize(binaryBytes);
+    }
+
+    @Benchmark
+    public Object deserializeIdOnly() {
+        return idOnly.deserialize(idOnlyBytes);
+    }
+}
@@ -0,0 +1,40 @@
+package com.bet99.exercise.jobsearch.dto;
+
+import com.bet99.exercise.jobsearch.model.JobTitle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SearchResponse construction, including the defensive List.copyOf of the result page.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchResponseBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private List<JobTitle> results;
+
+    @Setup
+    public void setUp() {
+        results = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            results.add(new JobTitle(String.valueOf(i), "21232", "Software developer " + i,
+                    "Développeur de logiciels " + i, "Develops software", "Développe des logiciels",
+                    "Information Technology", "A"));
+        }
+    }
+
+    @Benchmark
+    public SearchResponse of() {
+        return SearchResponse.of(results, 1234, 3, pageSize);
+    }
+}
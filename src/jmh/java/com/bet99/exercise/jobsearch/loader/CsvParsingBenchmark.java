@@ -0,0 +1,85 @@
+package com.bet99.exercise.jobsearch.loader;
+
+import com.bet99.exercise.jobsearch.NocData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-file loader costs: CSV record splitting, NOC code formatting, categorization and full classification rows.
+ * Each operation processes every row of the bundled classification structure file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvParsingBenchmark {
+
+    private DataLoader dataLoader;
+    private char[] structureCsv;
+    private int[] codes;
+    private List<String> titles;
+
+    @Setup
+    public void setUp() {
+        dataLoader = new DataLoader(null, null, null, null, null, null, new SimpleMeterRegistry());
+        structureCsv = NocData.structureChars();
+
+        var record = new CsvParser(structureCsv);
+        record.next();
+        var codeList = new ArrayList<Integer>();
+        var titleList = new ArrayList<String>();
+        while (record.next()) {
+            codeList.add(record.intField(2));
+            titleList.add(record.cleanField(3));
+        }
+        codes = codeList.stream().mapToInt(Integer::intValue).toArray();
+        titles = List.copyOf(titleList);
+    }
+
+    @Benchmark
+    public int parseRecords() {
+        var record = new CsvParser(structureCsv);
+        int fields = 0;
+        while (record.next()) {
+            fields += record.fieldCount();
+        }
+        return fields;
+    }
+
+    @Benchmark
+    public void formatNocCode(Blackhole bh) {
+        for (var code : codes) {
+            bh.consume(DataLoader.formatNocCode(code));
+        }
+    }
+
+    @Benchmark
+    public void stringFormatPadding(Blackhole bh) {
+        for (var code : codes) {
+            bh.consume(String.format("%05d", code));
+        }
+    }
+
+    @Benchmark
+    public void categorizeJob(Blackhole bh) {
+        for (var title : titles) {
+            bh.consume(dataLoader.categorizeJob(title));
+        }
+    }
+
+    @Benchmark
+    public void parseClassification(Blackhole bh) {
+        var record = new CsvParser(structureCsv);
+        record.next();
+        while (record.next()) {
+            bh.consume(dataLoader.parseClassification(record));
+        }
+    }
+}
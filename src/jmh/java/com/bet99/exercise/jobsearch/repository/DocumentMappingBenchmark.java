@@ -0,0 +1,67 @@
+package com.bet99.exercise.jobsearch.repository;
+
+import com.bet99.exercise.jobsearch.NocData;
+import com.bet99.exercise.jobsearch.model.JobTitle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JobTitle to Solr document mapping in both directions, over one page and over the whole NOC structure.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DocumentMappingBenchmark {
+
+    @Param({"10", "800"})
+    public int documents;
+
+    private JobTitleRepository repository;
+    private List<JobTitle> jobTitles;
+    private SolrDocumentList solrDocuments;
+
+    @Setup
+    public void setUp() {
+        repository = new JobTitleRepository(null, null, new SolrBulkhead(new SimpleMeterRegistry()), new SimpleMeterRegistry());
+        jobTitles = NocData.structureLines().stream()
+                .limit(documents)
+                .map(DocumentMappingBenchmark::toJobTitle)
+                .toList();
+
+        solrDocuments = new SolrDocumentList();
+        for (var jobTitle : jobTitles) {
+            var doc = new SolrDocument();
+            repository.createDocument(jobTitle).forEach(field -> doc.setField(field.getName(), field.getValue()));
+            solrDocuments.add(doc);
+        }
+        solrDocuments.setNumFound(solrDocuments.size());
+    }
+
+    @Benchmark
+    public void createDocument(Blackhole bh) {
+        for (var jobTitle : jobTitles) {
+            bh.consume(repository.createDocument(jobTitle));
+        }
+    }
+
+    @Benchmark
+    public List<JobTitle> documentsToJobTitles() {
+        return repository.documentsToJobTitles(solrDocuments);
+    }
+
+    private static JobTitle toJobTitle(String line) {
+        // level, hierarchy, code, title, definition (quotes left in place, good enough for mapping costs)
+        var fields = line.split(",", 5);
+        return new JobTitle(fields[2], fields[2], fields[3], fields[3] + " (FR)",
+                fields[4], fields[4] + " (FR)", "General", "0");
+    }
+}
@@ -0,0 +1,54 @@
+package com.bet99.exercise.jobsearch.loadtest;
+
+import org.apache.solr.client.solrj.embedded.EmbeddedSolrServer;
+import org.apache.solr.core.CoreContainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+
+/**
+ * In-process Solr core built from the project's solr-config/conf, in a throwaway Solr home.
+ */
+final class EmbeddedSolr implements AutoCloseable {
+
+    static final String CORE_NAME = "jobtitles";
+
+    private final Path solrHome;
+    private final EmbeddedSolrServer server;
+
+    private EmbeddedSolr(Path solrHome, EmbeddedSolrServer server) {
+        this.solrHome = solrHome;
+        this.server = server;
+    }
+
+    static EmbeddedSolr start(Path configDir) throws IOException {
+        var solrHome = Files.createTempDirectory("jobsearch-solr");
+        var coreConf = Files.createDirectories(solrHome.resolve(CORE_NAME).resolve("conf"));
+
+        try (var files = Files.list(configDir)) {
+            for (var file : files.toList()) {
+                Files.copy(file, coreConf.resolve(file.getFileName()));
+            }
+        }
+        Files.writeString(solrHome.resolve(CORE_NAME).resolve("core.properties"), "name=" + CORE_NAME + "\n");
+
+        var container = CoreContainer.createAndLoad(solrHome);
+        return new EmbeddedSolr(solrHome, new EmbeddedSolrServer(container, CORE_NAME));
+    }
+
+    EmbeddedSolrServer client() {
+        return server;
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        try (var paths = Files.walk(solrHome)) {
+            for (var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.bet99.exercise.jobsearch.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load driver: {@code concurrency} workers issue GET and POST searches back to back
+ * and record latencies into HdrHistogram recorders.
+ */
+final class LoadDriver {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final URI searchUri;
+    private final LoadTestOptions options;
+
+    private final Recorder getLatency = new Recorder(3);
+    private final Recorder postLatency = new Recorder(3);
+    private final LongAdder errors = new LongAdder();
+
+    private volatile boolean running;
+
+    LoadDriver(URI baseUri, LoadTestOptions options) {
+        this.searchUri = baseUri.resolve("/api/v1/jobtitles/search");
+        this.options = options;
+    }
+
+    void run(PrintStream out) throws InterruptedException {
+        running = true;
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.concurrency(); i++) {
+                executor.execute(this::work);
+            }
+
+            out.printf("Warming up for %ds with %d workers...%n", options.warmupSeconds(), options.concurrency());
+            Thread.sleep(options.warmupSeconds() * 1000L);
+            getLatency.getIntervalHistogram();
+            postLatency.getIntervalHistogram();
+            errors.reset();
+
+            out.printf("Measuring for %ds...%n", options.durationSeconds());
+            var start = System.nanoTime();
+            Thread.sleep(options.durationSeconds() * 1000L);
+            var get = getLatency.getIntervalHistogram();
+            var post = postLatency.getIntervalHistogram();
+            var elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            running = false;
+
+            out.println();
+            out.printf("Concurrency %d, %d queries in mix, %.0f%% POST%n",
+                    options.concurrency(), options.queries().size(), options.postRatio() * 100);
+            report(out, "GET  /search", get, elapsedSeconds);
+            report(out, "POST /search", post, elapsedSeconds);
+            out.printf("%-13s %d%n", "Errors", errors.sum());
+        }
+    }
+
+    private void work() {
+        var random = ThreadLocalRandom.current();
+        while (running) {
+            var query = options.queries().get(random.nextInt(options.queries().size()));
+            var post = random.nextDouble() < options.postRatio();
+            var request = post ? postRequest(query) : getRequest(query);
+
+            var start = System.nanoTime();
+            try {
+                var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                var latency = System.nanoTime() - start;
+                if (response.statusCode() != 200) {
+                    errors.increment();
+                } else {
+                    (post ? postLatency : getLatency).recordValue(latency);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                errors.increment();
+            }
+        }
+    }
+
+    private HttpRequest getRequest(LoadTestOptions.Query query) {
+        var uri = URI.create(searchUri + "?query=" + URLEncoder.encode(query.text(), StandardCharsets.UTF_8)
+                + "&language=" + query.language() + "&page=0&size=" + options.pageSize());
+        return HttpRequest.newBuilder(uri).GET().build();
+    }
+
+    private HttpRequest postRequest(LoadTestOptions.Query query) {
+        var body = "{\"query\":\"" + query.text().replace("\"", "\\\"") + "\",\"language\":\"" + query.language()
+                + "\",\"page\":0,\"size\":" + options.pageSize() + "}";
+        return HttpRequest.newBuilder(searchUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static void report(PrintStream out, String label, Histogram histogram, double elapsedSeconds) {
+        out.printf("%-13s %,d requests, %,.1f req/s%n", label, histogram.getTotalCount(),
+                histogram.getTotalCount() / elapsedSeconds);
+        if (histogram.getTotalCount() == 0) {
+            return;
+        }
+        out.printf("%-13s p50=%.2fms p95=%.2fms p99=%.2fms p999=%.2fms max=%.2fms%n", "",
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(95) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                histogram.getMaxValue() / NANOS_PER_MILLI);
+    }
+}
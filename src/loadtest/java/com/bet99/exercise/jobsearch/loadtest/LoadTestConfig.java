@@ -0,0 +1,26 @@
+package com.bet99.exercise.jobsearch.loadtest;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.embedded.EmbeddedSolrServer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Replaces the HTTP Solr clients from ApplicationConfig with the embedded server.
+ * Registered after the application sources, so these definitions win under bean overriding.
+ */
+@Configuration
+class LoadTestConfig {
+
+    @Bean(destroyMethod = "")
+    @Primary
+    public SolrClient solrReadClient(EmbeddedSolrServer embeddedSolr) {
+        return embeddedSolr;
+    }
+
+    @Bean(destroyMethod = "")
+    public SolrClient solrWriteClient(EmbeddedSolrServer embeddedSolr) {
+        return embeddedSolr;
+    }
+}
@@ -0,0 +1,60 @@
+package com.bet99.exercise.jobsearch.loadtest;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Command line options, given as {@code --name=value}.
+ *
+ * @param queries    query mix, each {@code term} or {@code term:lang}; picked uniformly at random
+ * @param postRatio  share of requests sent as POST /search (0..1)
+ */
+record LoadTestOptions(
+        int concurrency,
+        int warmupSeconds,
+        int durationSeconds,
+        int pageSize,
+        double postRatio,
+        List<Query> queries,
+        Path solrConfig
+) {
+    record Query(String text, String language) {}
+
+    static LoadTestOptions parse(String[] args) {
+        var values = new HashMap<String, String>();
+        for (var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            var separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        var queries = Arrays.stream(values.getOrDefault("queries",
+                        "developer,nurse,manager,engineer,teacher,cook,driver,analyst,infirmier:fr,cuisinier:fr")
+                        .split(","))
+                .map(String::trim)
+                .filter(q -> !q.isEmpty())
+                .map(LoadTestOptions::toQuery)
+                .toList();
+
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                Integer.parseInt(values.getOrDefault("warmup", "10")),
+                Integer.parseInt(values.getOrDefault("duration", "30")),
+                Integer.parseInt(values.getOrDefault("page-size", "10")),
+                Double.parseDouble(values.getOrDefault("post-ratio", "0.5")),
+                queries,
+                Path.of(values.getOrDefault("solr-config", "solr-config/conf"))
+        );
+    }
+
+    private static Query toQuery(String spec) {
+        var separator = spec.lastIndexOf(':');
+        return separator > 0
+                ? new Query(spec.substring(0, separator), spec.substring(separator + 1))
+                : new Query(spec, "en");
+    }
+}
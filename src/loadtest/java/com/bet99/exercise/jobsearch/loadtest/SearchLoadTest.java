@@ -0,0 +1,57 @@
+package com.bet99.exercise.jobsearch.loadtest;
+
+import com.bet99.exercise.jobsearch.JobSearchApplication;
+import com.bet99.exercise.jobsearch.loader.LoadProgressTracker;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.net.URI;
+
+/**
+ * Self-contained search load test: embedded Solr from solr-config/conf, an in-memory cache in place of Redis,
+ * the bundled NOC data loaded through DataLoader, and the real HTTP search endpoints on a random port.
+ *
+ * <pre>
+ * mvn -P loadtest test-compile exec:exec -Dloadtest.args="--concurrency=64 --duration=60 --post-ratio=0.2"
+ * </pre>
+ */
+public final class SearchLoadTest {
+
+    private SearchLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = LoadTestOptions.parse(args);
+
+        try (var solr = EmbeddedSolr.start(options.solrConfig())) {
+            var application = new SpringApplicationBuilder(JobSearchApplication.class, LoadTestConfig.class)
+                    .initializers(context -> context.getBeanFactory().registerSingleton("embeddedSolr", solr.client()));
+
+            try (var context = application.run(
+                    "--server.port=0",
+                    "--spring.main.allow-bean-definition-overriding=true",
+                    "--spring.cache.type=simple",
+                    "--management.health.redis.enabled=false",
+                    "--data.loader.enabled=true",
+                    "--logging.level.com.bet99.exercise.jobsearch=INFO")) {
+
+                awaitIndexLoad(context.getBean(LoadProgressTracker.class));
+
+                var port = context.getEnvironment().getProperty("local.server.port");
+                new LoadDriver(URI.create("http://localhost:" + port), options).run(System.out);
+            }
+        }
+    }
+
+    /**
+     * The loader runs in the background; measure only once the index is complete.
+     */
+    private static void awaitIndexLoad(LoadProgressTracker tracker) throws InterruptedException {
+        while (!tracker.isFirstLoadCompleted()) {
+            if (tracker.state() == LoadProgressTracker.State.FAILED) {
+                throw new IllegalStateException("Data load failed: " + tracker.snapshot().message());
+            }
+            Thread.sleep(200);
+        }
+        System.out.println("Index ready: " + tracker.snapshot());
+    }
+}
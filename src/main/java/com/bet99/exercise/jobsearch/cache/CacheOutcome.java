@@ -0,0 +1,44 @@
+package com.bet99.exercise.jobsearch.cache;
+
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * How a {@link TwoTierCache} lookup with a loader was answered: from either tier, by waiting on another
+ * caller's in-flight load, or by running the loader. A stale hit that triggers a background refresh is a hit.
+ * <p>
+ * Callers that want to know wrap the cached call in {@link #observe}. The listener is captured when the cache
+ * is entered, so an async retrieval reports to it from whichever thread decides the outcome.
+ */
+public enum CacheOutcome {
+    HIT,
+    COALESCED,
+    MISS;
+
+    private static final Consumer<CacheOutcome> IGNORED = outcome -> {};
+    private static final ThreadLocal<Consumer<CacheOutcome>> listener = new ThreadLocal<>();
+
+    public static <T> T observe(Consumer<CacheOutcome> outcomeListener, Supplier<T> call) {
+        var previous = listener.get();
+        listener.set(outcomeListener);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                listener.set(previous);
+            } else {
+                listener.remove();
+            }
+        }
+    }
+
+    static Consumer<CacheOutcome> listener() {
+        var current = listener.get();
+        return current != null ? current : IGNORED;
+    }
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
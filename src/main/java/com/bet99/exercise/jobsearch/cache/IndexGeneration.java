@@ -0,0 +1,93 @@
+package com.bet99.exercise.jobsearch.cache;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Index generation counter folded into search cache keys.
+ * Bumping it once per logical load or commit makes every older entry unreachable,
+ * so invalidation is O(1) and stale entries simply expire by TTL instead of being scanned and deleted.
+ * The counter lives in Redis so all instances agree; a local copy keeps key building off the network.
+ */
+@Component
+public class IndexGeneration implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexGeneration.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${cache.generation.key:job-search::index-generation}")
+    private String generationKey;
+
+    @Value("${cache.generation.channel:job-search:index-generation}")
+    private String generationChannel;
+
+    public IndexGeneration(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @PostConstruct
+    void init() {
+        try {
+            var stored = redisTemplate.opsForValue().get(generationKey);
+            if (stored != null) {
+                advanceTo(Long.parseLong(stored));
+            }
+            logger.info("Search cache index generation: {}", generation.get());
+        } catch (Exception e) {
+            logger.warn("Could not read index generation from Redis, starting at {}: {}",
+                    generation.get(), e.getMessage());
+        }
+    }
+
+    /**
+     * Current generation, used as the leading component of search cache keys.
+     */
+    public long current() {
+        return generation.get();
+    }
+
+    /**
+     * Move to a new generation and notify other instances.
+     */
+    public long bump() {
+        try {
+            var next = redisTemplate.opsForValue().increment(generationKey);
+            if (next != null) {
+                advanceTo(next);
+                redisTemplate.convertAndSend(generationChannel, String.valueOf(next));
+                return generation.get();
+            }
+        } catch (Exception e) {
+            logger.warn("Could not bump index generation in Redis, bumping locally: {}", e.getMessage());
+        }
+        return generation.incrementAndGet();
+    }
+
+    public String getChannel() {
+        return generationChannel;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            advanceTo(Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed index generation message");
+        }
+    }
+
+    private void advanceTo(long value) {
+        generation.accumulateAndGet(value, Math::max);
+    }
+}
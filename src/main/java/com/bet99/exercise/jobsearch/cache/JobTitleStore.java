@@ -0,0 +1,70 @@
+package com.bet99.exercise.jobsearch.cache;
+
+import com.bet99.exercise.jobsearch.model.JobTitle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-optimized, in-process copy of every job title by id.
+ * The NOC corpus is small and static, so the Redis search cache stores only result ids and each
+ * instance hydrates them from here instead of shipping and deserializing full documents per entry.
+ * Filled by the data loader and kept current by index writes; searches only read it.
+ */
+@Component
+public class JobTitleStore {
+
+    private volatile Map<String, JobTitle> byId = new ConcurrentHashMap<>();
+
+    /**
+     * Swap in a complete corpus; readers see either the old or the new one, never a partial load.
+     */
+    public void replaceAll(Collection<JobTitle> jobTitles) {
+        var fresh = new ConcurrentHashMap<String, JobTitle>((int) (jobTitles.size() / 0.75f) + 1);
+        jobTitles.forEach(jobTitle -> fresh.put(jobTitle.id(), jobTitle));
+        byId = fresh;
+    }
+
+    public void put(JobTitle jobTitle) {
+        byId.put(jobTitle.id(), jobTitle);
+    }
+
+    public void putAll(Collection<JobTitle> jobTitles) {
+        var current = byId;
+        jobTitles.forEach(jobTitle -> current.put(jobTitle.id(), jobTitle));
+    }
+
+    public void removeAll(Collection<String> ids) {
+        var current = byId;
+        ids.forEach(current::remove);
+    }
+
+    public void clear() {
+        byId = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * The documents for {@code ids} in the same order, or empty if any of them is unknown here.
+     */
+    public Optional<List<JobTitle>> getAll(List<String> ids) {
+        var current = byId;
+        var jobTitles = new ArrayList<JobTitle>(ids.size());
+        for (var id : ids) {
+            var jobTitle = current.get(id);
+            if (jobTitle == null) {
+                return Optional.empty();
+            }
+            jobTitles.add(jobTitle);
+        }
+        return Optional.of(jobTitles);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+}
@@ -0,0 +1,215 @@
+package com.bet99.exercise.jobsearch.cache;
+
+import com.bet99.exercise.jobsearch.dto.SearchResponse;
+import com.bet99.exercise.jobsearch.model.JobTitle;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact Redis value format for cached search results.
+ * A {@link SearchResponse} is written as a tagged, length-prefixed binary record with no class metadata
+ * and no field names, and deflated when it is larger than the compression threshold.
+ * With a {@link JobTitleStore} the record holds only result ids, hydrated from the store on read;
+ * an id the store does not know yet turns the entry into a cache miss, answered from Solr until the
+ * loader or an index write adds it.
+ * Anything else, including entries written before this format, goes through the fallback serializer,
+ * which never produces the leading tag bytes.
+ */
+public class SearchResultRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte PLAIN = 0x01;
+    static final byte DEFLATED = 0x02;
+    private static final int FULL_DOCUMENTS = 1;
+    private static final int ID_ONLY = 2;
+
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+    private final JobTitleStore store;
+
+    /**
+     * Full-document records.
+     *
+     * @param compressionThreshold encoded size in bytes above which values are deflated; negative disables compression
+     */
+    public SearchResultRedisSerializer(RedisSerializer<Object> fallback, int compressionThreshold) {
+        this(fallback, compressionThreshold, null);
+    }
+
+    /**
+     * Id-only records hydrated from {@code store}.
+     */
+    public SearchResultRedisSerializer(RedisSerializer<Object> fallback, int compressionThreshold,
+                                       JobTitleStore store) {
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+        this.store = store;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (!(value instanceof SearchResponse response)) {
+            return fallback.serialize(value);
+        }
+
+        try {
+            var body = new ByteArrayOutputStream(256);
+            writeResponse(new DataOutputStream(body), response);
+
+            var compress = compressionThreshold >= 0 && body.size() > compressionThreshold;
+            var out = new ByteArrayOutputStream(compress ? body.size() / 2 : body.size() + 1);
+            out.write(compress ? DEFLATED : PLAIN);
+            if (compress) {
+                var deflater = new Deflater(Deflater.BEST_SPEED);
+                try (var deflating = new DeflaterOutputStream(out, deflater)) {
+                    body.writeTo(deflating);
+                } finally {
+                    deflater.end();
+                }
+            } else {
+                body.writeTo(out);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Failed to serialize search result", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != PLAIN && bytes[0] != DEFLATED) {
+            return fallback.deserialize(bytes);
+        }
+
+        InputStream body = new ByteArrayInputStream(bytes, 1, bytes.length - 1);
+        if (bytes[0] == DEFLATED) {
+            body = new InflaterInputStream(body);
+        }
+        try (var in = new DataInputStream(body)) {
+            return readResponse(in);
+        } catch (IOException e) {
+            throw new SerializationException("Failed to deserialize search result", e);
+        }
+    }
+
+    private void writeResponse(DataOutputStream out, SearchResponse response) throws IOException {
+        writeVarInt(out, store != null ? ID_ONLY : FULL_DOCUMENTS);
+        out.writeLong(response.totalCount());
+        writeVarInt(out, response.page());
+        writeVarInt(out, response.pageSize());
+        writeString(out, response.nextCursor());
+        writeVarInt(out, response.results().size());
+        for (var jobTitle : response.results()) {
+            writeString(out, jobTitle.id());
+            if (store == null) {
+                writeString(out, jobTitle.nocCode());
+                writeString(out, jobTitle.titleEn());
+                writeString(out, jobTitle.titleFr());
+                writeString(out, jobTitle.descriptionEn());
+                writeString(out, jobTitle.descriptionFr());
+                writeString(out, jobTitle.category());
+                writeString(out, jobTitle.skillLevel());
+            }
+        }
+    }
+
+    /**
+     * Null when an id-only record cannot be fully hydrated, which the cache reports as a miss.
+     */
+    private SearchResponse readResponse(DataInputStream in) throws IOException {
+        var kind = readVarInt(in);
+        if (kind != FULL_DOCUMENTS && kind != ID_ONLY) {
+            throw new IOException("Unsupported search result record kind " + kind);
+        }
+        var totalCount = in.readLong();
+        var page = readVarInt(in);
+        var pageSize = readVarInt(in);
+        var nextCursor = readString(in);
+        var count = readVarInt(in);
+
+        if (kind == ID_ONLY) {
+            var ids = new ArrayList<String>(count);
+            for (int i = 0; i < count; i++) {
+                ids.add(readString(in));
+            }
+            if (store == null) {
+                return null;
+            }
+            return store.getAll(ids)
+                    .map(results -> new SearchResponse(results, totalCount, page, pageSize, 0, nextCursor))
+                    .orElse(null);
+        }
+
+        var results = new ArrayList<JobTitle>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(new JobTitle(readString(in), readString(in), readString(in), readString(in),
+                    readString(in), readString(in), readString(in), readString(in)));
+        }
+        return new SearchResponse(results, totalCount, page, pageSize, 0, nextCursor);
+    }
+
+    /**
+     * UTF-8 bytes prefixed with {@code length + 1}; a zero prefix is null.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        var utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length + 1);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        var length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        var utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Unsigned LEB128: one byte for values below 128, which covers page numbers, sizes and most field lengths.
+     */
+    private static void writeVarInt(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            var b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,389 @@
+package com.bet99.exercise.jobsearch.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Spring cache with a bounded in-process Caffeine tier (L1) in front of the shared Redis tier (L2).
+ * Reads try L1 first and back-fill it from L2; evictions are applied to both tiers of this instance only.
+ * Search entries are invalidated across instances by {@link IndexGeneration}, not by eviction.
+ * <p>
+ * Loads through {@link #get(Object, Callable)} are single-flight per key: concurrent misses share one
+ * loader call and one cache fill. With a refresh-after age set, a local hit on an ageing entry returns
+ * the stale value and reloads it in the background, so hot keys are renewed before they expire.
+ * Both kinds of load report how they were answered to the caller's {@link CacheOutcome} listener.
+ * <p>
+ * {@link #retrieve(Object, Supplier)} is the non-blocking counterpart used for methods returning
+ * {@link CompletableFuture}. A remote tier without async retrieval (Redis through Jedis) is read on the
+ * background executor, so the caller's thread never waits on Redis.
+ * {@link #getAll(List)} reads many keys with one remote round trip when a {@link RemoteMultiGet} is given.
+ */
+public class TwoTierCache implements org.springframework.cache.Cache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoTierCache.class);
+
+    private final String name;
+    private final Cache<Object, Object> local;
+    private final org.springframework.cache.Cache remote;
+    private final Duration refreshAfter;
+    private final Executor backgroundExecutor;
+    private final RemoteMultiGet remoteMultiGet;
+    private volatile boolean remoteRetrieveSupported = true;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter coalescedLoads;
+    private final Counter refreshes;
+
+    public TwoTierCache(String name, Cache<Object, Object> local, org.springframework.cache.Cache remote,
+                        MeterRegistry meterRegistry) {
+        this(name, local, remote, meterRegistry, Duration.ZERO, Runnable::run);
+    }
+
+    /**
+     * @param refreshAfter   local entry age after which a hit triggers a background reload; zero disables it.
+     *                       Only effective when the local tier expires after write.
+     * @param backgroundExecutor runs background reloads, and remote reads and writes for async retrievals
+     */
+    public TwoTierCache(String name, Cache<Object, Object> local, org.springframework.cache.Cache remote,
+                        MeterRegistry meterRegistry, Duration refreshAfter, Executor backgroundExecutor) {
+        this(name, local, remote, meterRegistry, refreshAfter, backgroundExecutor, null);
+    }
+
+    /**
+     * @param remoteMultiGet batch read of the remote tier; null reads the keys one at a time
+     */
+    public TwoTierCache(String name, Cache<Object, Object> local, org.springframework.cache.Cache remote,
+                        MeterRegistry meterRegistry, Duration refreshAfter, Executor backgroundExecutor,
+                        RemoteMultiGet remoteMultiGet) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.refreshAfter = refreshAfter;
+        this.backgroundExecutor = backgroundExecutor;
+        this.remoteMultiGet = remoteMultiGet;
+        this.localHits = tierCounter(meterRegistry, "l1", "hit");
+        this.localMisses = tierCounter(meterRegistry, "l1", "miss");
+        this.remoteHits = tierCounter(meterRegistry, "l2", "hit");
+        this.remoteMisses = tierCounter(meterRegistry, "l2", "miss");
+        this.coalescedLoads = loadCounter(meterRegistry, "coalesced");
+        this.refreshes = loadCounter(meterRegistry, "refresh");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        var value = local.getIfPresent(key);
+        if (value != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        localMisses.increment();
+
+        var wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            remoteHits.increment();
+            local.put(key, wrapper.get());
+            return wrapper;
+        }
+        remoteMisses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        var wrapper = get(key);
+        var value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var outcome = CacheOutcome.listener();
+        var wrapper = get(key);
+        if (wrapper != null) {
+            outcome.accept(CacheOutcome.HIT);
+            refreshIfAgeing(key, valueLoader);
+            return (T) wrapper.get();
+        }
+
+        var flight = new CompletableFuture<Object>();
+        var existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalescedLoads.increment();
+            outcome.accept(CacheOutcome.COALESCED);
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+
+        outcome.accept(CacheOutcome.MISS);
+        try {
+            T value = valueLoader.call();
+            put(key, value);
+            flight.complete(value);
+            return value;
+        } catch (Exception e) {
+            flight.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Values for {@code keys} in the same order, null where neither tier has one. Local misses are read
+     * from the remote tier together and back-fill the local tier.
+     */
+    public List<Object> getAll(List<?> keys) {
+        var values = new ArrayList<Object>(keys.size());
+        var missing = new ArrayList<Object>();
+        var missingAt = new ArrayList<Integer>();
+        for (var key : keys) {
+            var value = local.getIfPresent(key);
+            if (value != null) {
+                localHits.increment();
+            } else {
+                localMisses.increment();
+                missing.add(key);
+                missingAt.add(values.size());
+            }
+            values.add(value);
+        }
+        if (missing.isEmpty()) {
+            return values;
+        }
+
+        var remoteValues = remoteMultiGet != null
+                ? remoteMultiGet.getAll(missing)
+                : missing.stream().map(key -> unwrap(remote.get(key))).toList();
+        for (int i = 0; i < missing.size(); i++) {
+            var value = remoteValues.get(i);
+            if (value == null) {
+                remoteMisses.increment();
+                continue;
+            }
+            remoteHits.increment();
+            local.put(missing.get(i), value);
+            values.set(missingAt.get(i), value);
+        }
+        return values;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        var value = local.getIfPresent(key);
+        if (value != null) {
+            localHits.increment();
+            return CompletableFuture.completedFuture(value);
+        }
+        localMisses.increment();
+
+        return retrieveRemote(key).thenApply(remoteValue -> {
+            if (remoteValue == null) {
+                remoteMisses.increment();
+                return null;
+            }
+            remoteHits.increment();
+            local.put(key, remoteValue);
+            return remoteValue;
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        // Captured here: the outcome is decided on whichever thread completes the remote read
+        var outcome = CacheOutcome.listener();
+        return retrieve(key).thenCompose(value -> {
+            if (value != null) {
+                outcome.accept(CacheOutcome.HIT);
+                refreshIfAgeing(key, () -> valueLoader.get().join());
+                return CompletableFuture.completedFuture((T) value);
+            }
+            return (CompletableFuture<T>) loadAsync(key, valueLoader, outcome);
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        if (value != null) {
+            local.put(key, value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(key);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+    }
+
+    private CompletableFuture<Object> retrieveRemote(Object key) {
+        if (remoteRetrieveSupported) {
+            try {
+                var future = remote.retrieve(key);
+                return future != null
+                        ? future.thenApply(TwoTierCache::unwrap)
+                        : CompletableFuture.completedFuture(null);
+            } catch (UnsupportedOperationException e) {
+                remoteRetrieveSupported = false;
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> unwrap(remote.get(key)), backgroundExecutor);
+    }
+
+    /**
+     * Single-flight like {@link #get(Object, Callable)}: concurrent misses share the first caller's future.
+     * The local tier is filled as soon as the value arrives; the Redis write happens in the background.
+     */
+    private CompletableFuture<Object> loadAsync(Object key, Supplier<? extends CompletableFuture<?>> valueLoader,
+                                                Consumer<CacheOutcome> outcome) {
+        var flight = new CompletableFuture<Object>();
+        var existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalescedLoads.increment();
+            outcome.accept(CacheOutcome.COALESCED);
+            return existing;
+        }
+
+        outcome.accept(CacheOutcome.MISS);
+        CompletableFuture<?> loading;
+        try {
+            loading = valueLoader.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            return flight;
+        }
+        loading.whenComplete((value, error) -> {
+            if (error != null) {
+                inFlight.remove(key, flight);
+                flight.completeExceptionally(error);
+                return;
+            }
+            if (value != null) {
+                local.put(key, value);
+            }
+            backgroundExecutor.execute(() -> {
+                try {
+                    remote.put(key, value);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to write cache {} entry to Redis: {}", name, e.getMessage());
+                }
+            });
+            inFlight.remove(key, flight);
+            flight.complete(value);
+        });
+        return flight;
+    }
+
+    /**
+     * Async remote tiers may answer with a value wrapper or the plain value.
+     */
+    private static Object unwrap(Object value) {
+        return value instanceof ValueWrapper wrapper ? wrapper.get() : value;
+    }
+
+    /**
+     * Stale-while-revalidate: reload a local entry in the background once it is older than the refresh age.
+     * At most one reload per key runs at a time, and it shares the single-flight slot with foreground loads.
+     */
+    private void refreshIfAgeing(Object key, Callable<?> valueLoader) {
+        if (refreshAfter.isZero()) {
+            return;
+        }
+        var ageing = local.policy().expireAfterWrite()
+                .flatMap(policy -> policy.ageOf(key))
+                .filter(age -> age.compareTo(refreshAfter) >= 0)
+                .isPresent();
+        if (!ageing) {
+            return;
+        }
+
+        var flight = new CompletableFuture<Object>();
+        if (inFlight.putIfAbsent(key, flight) != null) {
+            return;
+        }
+        refreshes.increment();
+        backgroundExecutor.execute(() -> {
+            try {
+                var value = valueLoader.call();
+                put(key, value);
+                flight.complete(value);
+            } catch (Exception e) {
+                // The stale entry stays until it expires; the next hit will try again
+                flight.completeExceptionally(e);
+                logger.warn("Background refresh failed for cache {}: {}", name, e.getMessage());
+            } finally {
+                inFlight.remove(key, flight);
+            }
+        });
+    }
+
+    /**
+     * Reads many keys from the remote tier in one round trip: values in key order, null for misses.
+     */
+    @FunctionalInterface
+    public interface RemoteMultiGet {
+        List<Object> getAll(List<Object> keys);
+    }
+
+    private Counter tierCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.tier.gets")
+                .description("Two-tier cache lookups by tier and result")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter loadCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("cache.loads")
+                .description("Cache loads that were coalesced onto an in-flight load or refreshed ahead of expiry")
+                .tag("cache", name)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,94 @@
+package com.bet99.exercise.jobsearch.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Cache manager composing a per-instance Caffeine L1 with the shared Redis L2.
+ * Peers are not told about evictions: search keys carry the {@link IndexGeneration}, whose bump
+ * is broadcast instead, and other entries are bounded by the local TTL.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final long localMaxSize;
+    private final Duration localTtl;
+    private final Duration refreshAfter;
+    private final Executor backgroundExecutor = task -> Thread.ofVirtual().name("cache-background").start(task);
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager remoteCacheManager, StringRedisTemplate redisTemplate,
+                               MeterRegistry meterRegistry, long localMaxSize, Duration localTtl,
+                               Duration refreshAfter) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+        this.refreshAfter = refreshAfter;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private TwoTierCache createCache(String name) {
+        var local = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .build();
+        var remote = remoteCacheManager.getCache(name);
+        return new TwoTierCache(name, local, remote, meterRegistry, refreshAfter, backgroundExecutor,
+                redisMultiGet(remote));
+    }
+
+    /**
+     * One MGET for a batch of keys, built with the Redis cache's own key prefix and serializers
+     * so it reads exactly the entries the cache wrote. Cache keys here are strings.
+     */
+    private TwoTierCache.RemoteMultiGet redisMultiGet(Cache remote) {
+        if (!(remote instanceof RedisCache redisCache)) {
+            return null;
+        }
+        var config = redisCache.getCacheConfiguration();
+        var prefix = config.usePrefix() ? config.getKeyPrefixFor(redisCache.getName()) : "";
+        return keys -> {
+            var rawKeys = keys.stream()
+                    .map(key -> ByteUtils.getBytes(config.getKeySerializationPair().write(prefix + key)))
+                    .toArray(byte[][]::new);
+            var rawValues = redisTemplate.execute(
+                    (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(rawKeys));
+
+            var values = new ArrayList<Object>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                var raw = rawValues != null ? rawValues.get(i) : null;
+                values.add(raw != null ? config.getValueSerializationPair().read(ByteBuffer.wrap(raw)) : null);
+            }
+            return values;
+        };
+    }
+}
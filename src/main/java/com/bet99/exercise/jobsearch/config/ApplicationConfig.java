@@ -1,16 +1,29 @@
 package com.bet99.exercise.jobsearch.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.apache.solr.client.solrj.SolrClient;
-import org.apache.solr.client.solrj.impl.HttpSolrClient;
+import org.apache.solr.client.solrj.impl.Http2SolrClient;
+import org.eclipse.jetty.client.AbstractConnectionPool;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpDestination;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisClientConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import redis.clients.jedis.JedisPoolConfig;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
 
 
 @Configuration
@@ -28,34 +41,137 @@ public class ApplicationConfig {
     @Value("${solr.request.timeout:30000}")
     private int requestTimeout;
 
+    @Value("${solr.search.timeout-ms:3000}")
+    private int searchTimeout;
+
     @Value("${solr.max.connections:200}")
     private int maxConnections;
 
+    @Value("${solr.idle.timeout:60000}")
+    private int idleTimeout;
+
+    @Value("${solr.update.max-connections:16}")
+    private int updateMaxConnections;
+
     @Value("${spring.data.redis.host:localhost}")
     private String redisHost;
 
     @Value("${spring.data.redis.port:6379}")
     private int redisPort;
 
+    @Value("${spring.data.redis.timeout:2000ms}")
+    private Duration redisTimeout;
+
+    @Value("${spring.data.redis.jedis.pool.max-active:64}")
+    private int redisPoolMaxActive;
+
+    @Value("${spring.data.redis.jedis.pool.max-idle:64}")
+    private int redisPoolMaxIdle;
+
+    @Value("${spring.data.redis.jedis.pool.min-idle:0}")
+    private int redisPoolMinIdle;
+
+    @Value("${spring.data.redis.jedis.pool.max-wait:100ms}")
+    private Duration redisPoolMaxWait;
+
+
+    /**
+     * Multiplexed HTTP/2 client for queries. Its request timeout is the per-search deadline,
+     * much shorter than the write client's, so a slow Solr fails searches fast instead of holding them.
+     */
+    @Bean
+    @Primary
+    public SolrClient solrReadClient() {
+        return http2Client(maxConnections, searchTimeout);
+    }
 
+    /**
+     * Separate HTTP/2 client for indexing, with the long request timeout. Adds are synchronous, so a failed
+     * update throws to the caller; the bulk indexer already sends batches in parallel.
+     */
     @Bean
-    public SolrClient solrClient() {
-        return new HttpSolrClient.Builder(solrBaseUrl + "/" + solrCollection)
-                .withConnectionTimeout(connectionTimeout)
-                .withSocketTimeout(requestTimeout)
-                .allowCompression(true)
+    public SolrClient solrWriteClient() {
+        return http2Client(updateMaxConnections, requestTimeout);
+    }
+
+    private Http2SolrClient http2Client(int maxConnectionsPerHost, int requestTimeoutMillis) {
+        return new Http2SolrClient.Builder(solrUrl())
+                .withConnectionTimeout(connectionTimeout, TimeUnit.MILLISECONDS)
+                .withRequestTimeout(requestTimeoutMillis, TimeUnit.MILLISECONDS)
+                .withIdleTimeout(idleTimeout, TimeUnit.MILLISECONDS)
+                .withMaxConnectionsPerHost(maxConnectionsPerHost)
                 .build();
     }
 
+    private String solrUrl() {
+        return solrBaseUrl + "/" + solrCollection;
+    }
+
+    /**
+     * Connection pool gauges for the query client. Requests queued for a connection mean the pool,
+     * not Solr, is the bottleneck.
+     */
+    @Bean
+    public MeterBinder solrReadPoolMetrics(@Qualifier("solrReadClient") SolrClient readClient) {
+        if (!(readClient instanceof Http2SolrClient http2Client)) {
+            return registry -> { };  // e.g. the embedded server used by the load test
+        }
+        var httpClient = http2Client.getHttpClient();
+        return registry -> {
+            poolGauge("solr.client.connections.active", httpClient, AbstractConnectionPool::getActiveConnectionCount)
+                    .register(registry);
+            poolGauge("solr.client.connections.idle", httpClient, AbstractConnectionPool::getIdleConnectionCount)
+                    .register(registry);
+            poolGauge("solr.client.connections.max", httpClient, AbstractConnectionPool::getMaxConnectionCount)
+                    .register(registry);
+            Gauge.builder("solr.client.requests.queued", httpClient,
+                            client -> sumOverDestinations(client, HttpDestination::getQueuedRequestCount))
+                    .tag("client", "read")
+                    .register(registry);
+        };
+    }
+
+    private static Gauge.Builder<HttpClient> poolGauge(String name, HttpClient httpClient,
+                                                       ToIntFunction<AbstractConnectionPool> stat) {
+        return Gauge.builder(name, httpClient, client -> sumOverDestinations(client,
+                        destination -> destination.getConnectionPool() instanceof AbstractConnectionPool pool
+                                ? stat.applyAsInt(pool) : 0))
+                .tag("client", "read");
+    }
+
+    private static double sumOverDestinations(HttpClient httpClient, ToIntFunction<HttpDestination> stat) {
+        return httpClient.getDestinations().stream()
+                .filter(HttpDestination.class::isInstance)
+                .map(HttpDestination.class::cast)
+                .mapToInt(stat)
+                .sum();
+    }
 
 
+    /**
+     * Jedis blocks a connection per command, so with virtual threads the pool size, not the thread count,
+     * bounds concurrent Redis calls; borrowers wait at most {@code max-wait} before failing.
+     */
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
         var config = new RedisStandaloneConfiguration();
         config.setHostName(redisHost);
         config.setPort(redisPort);
 
-        var factory = new JedisConnectionFactory(config);
+        var poolConfig = new JedisPoolConfig();
+        poolConfig.setMaxTotal(redisPoolMaxActive);
+        poolConfig.setMaxIdle(redisPoolMaxIdle);
+        poolConfig.setMinIdle(redisPoolMinIdle);
+        poolConfig.setMaxWait(redisPoolMaxWait);
+
+        var clientConfig = JedisClientConfiguration.builder()
+                .connectTimeout(redisTimeout)
+                .readTimeout(redisTimeout)
+                .usePooling()
+                .poolConfig(poolConfig)
+                .build();
+
+        var factory = new JedisConnectionFactory(config, clientConfig);
         factory.afterPropertiesSet();
         return factory;
     }
@@ -0,0 +1,84 @@
+package com.bet99.exercise.jobsearch.config;
+
+import com.bet99.exercise.jobsearch.cache.IndexGeneration;
+import com.bet99.exercise.jobsearch.cache.JobTitleStore;
+import com.bet99.exercise.jobsearch.cache.SearchResultRedisSerializer;
+import com.bet99.exercise.jobsearch.cache.TwoTierCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+
+/**
+ * Two-tier cache: Caffeine per instance (L1) backed by the shared Redis cache (L2).
+ * Only active when Redis caching is selected, so {@code spring.cache.type=none} still disables caching.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+public class CacheConfig {
+
+    @Value("${spring.cache.redis.time-to-live:300000}")
+    private long redisTtlMillis;
+
+    @Value("${spring.cache.redis.key-prefix:job-search::}")
+    private String redisKeyPrefix;
+
+    @Value("${cache.redis.compression-threshold:512}")
+    private int compressionThreshold;
+
+    @Value("${cache.local.max-size:10000}")
+    private long localMaxSize;
+
+    @Value("${cache.local.time-to-live:60000}")
+    private long localTtlMillis;
+
+    @Value("${cache.local.refresh-after:0}")
+    private long localRefreshAfterMillis;
+
+    @Bean
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                            StringRedisTemplate stringRedisTemplate,
+                                            MeterRegistry meterRegistry,
+                                            JobTitleStore jobTitleStore) {
+        var redisConfig = RedisCacheConfiguration.defaultCacheConfig(getClass().getClassLoader())
+                .entryTtl(Duration.ofMillis(redisTtlMillis))
+                .prefixCacheNameWith(redisKeyPrefix)
+                .disableCachingNullValues();
+
+        // Search results are stored as id lists hydrated from the local store; other caches keep JDK serialization
+        var searchResultsSerializer = new SearchResultRedisSerializer(
+                RedisSerializer.java(getClass().getClassLoader()), compressionThreshold, jobTitleStore);
+        var searchResultsConfig = redisConfig.serializeValuesWith(
+                RedisSerializationContext.SerializationPair.fromSerializer(searchResultsSerializer));
+
+        var redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(redisConfig)
+                .withCacheConfiguration("searchResults", searchResultsConfig)
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new TwoTierCacheManager(redisCacheManager, stringRedisTemplate, meterRegistry,
+                localMaxSize, Duration.ofMillis(localTtlMillis),
+                Duration.ofMillis(localRefreshAfterMillis));
+    }
+
+    @Bean
+    public RedisMessageListenerContainer indexGenerationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                          IndexGeneration indexGeneration) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(indexGeneration, new ChannelTopic(indexGeneration.getChannel()));
+        return container;
+    }
+}
@@ -1,38 +1,124 @@
 package com.bet99.exercise.jobsearch.controller;
 
+import com.bet99.exercise.jobsearch.dto.BatchSearchRequest;
+import com.bet99.exercise.jobsearch.dto.BatchSearchResponse;
+import com.bet99.exercise.jobsearch.dto.IngestSummary;
+import com.bet99.exercise.jobsearch.dto.LoadProgress;
+import com.bet99.exercise.jobsearch.dto.QueryStats;
 import com.bet99.exercise.jobsearch.dto.SearchRequest;
 import com.bet99.exercise.jobsearch.dto.SearchResponse;
+import com.bet99.exercise.jobsearch.dto.SuggestResponse;
+import com.bet99.exercise.jobsearch.loader.LoadProgressTracker;
+import com.bet99.exercise.jobsearch.loader.NdjsonIngester;
 import com.bet99.exercise.jobsearch.model.JobTitle;
+import com.bet99.exercise.jobsearch.query.QueryStatsRecorder;
+import com.bet99.exercise.jobsearch.service.JobTitleBatchSearcher;
+import com.bet99.exercise.jobsearch.service.JobTitleExporter;
 import com.bet99.exercise.jobsearch.service.JobTitleService;
+import com.bet99.exercise.jobsearch.suggest.SuggestService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/jobtitles")
 public class JobTitleController {
 
     private final JobTitleService service;
+    private final NdjsonIngester ndjsonIngester;
+    private final LoadProgressTracker loadProgress;
+    private final SuggestService suggestService;
+    private final JobTitleExporter exporter;
+    private final QueryStatsRecorder queryStats;
+    private final JobTitleBatchSearcher batchSearcher;
 
-    public JobTitleController(JobTitleService service) {
+    public JobTitleController(JobTitleService service, NdjsonIngester ndjsonIngester,
+                              LoadProgressTracker loadProgress, SuggestService suggestService,
+                              JobTitleExporter exporter, QueryStatsRecorder queryStats,
+                              JobTitleBatchSearcher batchSearcher) {
         this.service = service;
+        this.ndjsonIngester = ndjsonIngester;
+        this.loadProgress = loadProgress;
+        this.suggestService = suggestService;
+        this.exporter = exporter;
+        this.queryStats = queryStats;
+        this.batchSearcher = batchSearcher;
     }
 
     /**
      * GET search endpoint with query parameters.
+     * Pass {@code cursor=*} for cursor paging, then the returned {@code next_cursor} for each following page.
      */
     @GetMapping("/search")
     public ResponseEntity<SearchResponse> search(
             @RequestParam String query,
             @RequestParam(defaultValue = "en") String language,
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+
+        var request = new SearchRequest(query, language, page, size, cursor);
+        return ResponseEntity.ok(queryStats.record(request, () -> service.search(request)));
+    }
+
+    /**
+     * Non-blocking variant of {@link #search}: the request thread is released while the cache lookup
+     * and the Solr query are in flight, and the response is written when the search completes.
+     */
+    @GetMapping("/search/async")
+    public CompletableFuture<ResponseEntity<SearchResponse>> searchAsync(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "en") String language,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+
+        var request = new SearchRequest(query, language, page, size, cursor);
+        return queryStats.recordAsync(request, solrQTime -> service.searchAsync(request, solrQTime))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Typeahead suggestions for a partial title.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<SuggestResponse> suggest(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "en") String language,
             @RequestParam(defaultValue = "10") int size) {
 
-        var request = new SearchRequest(query, language, page, size);
-        return ResponseEntity.ok(service.search(request));
+        return ResponseEntity.ok(suggestService.suggest(query, language, size));
+    }
+
+    /**
+     * Stream every matching job title as JSON lines ({@code format=ndjson}) or CSV ({@code format=csv}).
+     * An empty query exports the whole index.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "") String query,
+            @RequestParam(defaultValue = "en") String language,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        var exportFormat = JobTitleExporter.Format.fromName(format);
+        if (exportFormat.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        var selected = exportFormat.get();
+        StreamingResponseBody body = output -> exporter.export(query, language, selected, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(selected.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"jobtitles." + selected.extension() + "\"")
+                .body(body);
     }
 
     /**
@@ -40,7 +126,25 @@ public class JobTitleController {
      */
     @PostMapping("/search")
     public ResponseEntity<SearchResponse> searchPost(@Valid @RequestBody SearchRequest request) {
-        return ResponseEntity.ok(service.search(request));
+        return ResponseEntity.ok(queryStats.record(request, () -> service.search(request)));
+    }
+
+    /**
+     * Non-blocking variant of {@link #searchPost}.
+     */
+    @PostMapping("/search/async")
+    public CompletableFuture<ResponseEntity<SearchResponse>> searchPostAsync(@Valid @RequestBody SearchRequest request) {
+        return queryStats.recordAsync(request, solrQTime -> service.searchAsync(request, solrQTime))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Many searches in one call, answered in request order. Cached results are read in one batch
+     * and the misses are searched concurrently.
+     */
+    @PostMapping("/search/batch")
+    public ResponseEntity<BatchSearchResponse> searchBatch(@Valid @RequestBody BatchSearchRequest request) {
+        return ResponseEntity.ok(batchSearcher.search(request.searches()));
     }
 
     /**
@@ -61,6 +165,39 @@ public class JobTitleController {
         service.indexJobTitles(jobTitles);
     }
 
+    /**
+     * Streaming bulk index from newline-delimited JSON, one job title per line (admin).
+     */
+    @PostMapping(value = "/stream", consumes = "application/x-ndjson")
+    public ResponseEntity<IngestSummary> streamJobTitles(InputStream body) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(ndjsonIngester.ingest(body));
+    }
+
+    /**
+     * Progress of the background NOC data load (admin).
+     */
+    @GetMapping("/load-progress")
+    public ResponseEntity<LoadProgress> loadProgress() {
+        return ResponseEntity.ok(loadProgress.snapshot());
+    }
+
+    /**
+     * Slowest and most frequent searches with their latency, Solr QTime and cache status (admin).
+     */
+    @GetMapping("/query-stats")
+    public ResponseEntity<QueryStats> queryStats() {
+        return ResponseEntity.ok(queryStats.snapshot());
+    }
+
+    /**
+     * Start query statistics afresh (admin).
+     */
+    @DeleteMapping("/query-stats")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void resetQueryStats() {
+        queryStats.reset();
+    }
+
     /**
      * Clear all indexed data (admin).
      */
@@ -0,0 +1,18 @@
+package com.bet99.exercise.jobsearch.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Many searches answered in one call; results come back in the same order.
+ */
+public record BatchSearchRequest(
+        @JsonProperty("searches")
+        @NotEmpty(message = "Searches cannot be empty")
+        @Size(max = 500, message = "At most 500 searches per batch")
+        List<@Valid SearchRequest> searches
+) {}
@@ -0,0 +1,23 @@
+package com.bet99.exercise.jobsearch.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * One search response per requested search, in request order.
+ */
+public record BatchSearchResponse(
+        @JsonProperty("results")
+        List<SearchResponse> results,
+
+        @JsonProperty("cache_hits")
+        int cacheHits,
+
+        @JsonProperty("solr_searches")
+        int solrSearches
+) {
+    public BatchSearchResponse {
+        results = results != null ? List.copyOf(results) : List.of();
+    }
+}
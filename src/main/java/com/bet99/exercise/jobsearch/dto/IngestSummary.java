@@ -0,0 +1,43 @@
+package com.bet99.exercise.jobsearch.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Outcome of a streaming bulk upload.
+ */
+public record IngestSummary(
+        @JsonProperty("lines_read")
+        long linesRead,
+
+        @JsonProperty("accepted")
+        long accepted,
+
+        @JsonProperty("rejected")
+        long rejected,
+
+        @JsonProperty("index_failures")
+        long indexFailures,
+
+        @JsonProperty("elapsed_ms")
+        long elapsedMillis,
+
+        @JsonProperty("errors")
+        List<LineError> errors
+) {
+    public IngestSummary {
+        errors = errors != null ? List.copyOf(errors) : List.of();
+    }
+
+    /**
+     * A rejected input line and the reason it could not be parsed.
+     */
+    public record LineError(
+            @JsonProperty("line")
+            long line,
+
+            @JsonProperty("message")
+            String message
+    ) {}
+}
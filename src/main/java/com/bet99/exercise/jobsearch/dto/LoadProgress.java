@@ -0,0 +1,34 @@
+package com.bet99.exercise.jobsearch.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Snapshot of the background NOC data load.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LoadProgress(
+        @JsonProperty("state")
+        String state,
+
+        @JsonProperty("docs_parsed")
+        long docsParsed,
+
+        @JsonProperty("docs_to_index")
+        long docsToIndex,
+
+        @JsonProperty("docs_indexed")
+        long docsIndexed,
+
+        @JsonProperty("elapsed_ms")
+        long elapsedMillis,
+
+        @JsonProperty("docs_per_second")
+        double docsPerSecond,
+
+        @JsonProperty("eta_ms")
+        Long etaMillis,
+
+        @JsonProperty("message")
+        String message
+) {}
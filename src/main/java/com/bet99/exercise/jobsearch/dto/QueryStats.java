@@ -0,0 +1,73 @@
+package com.bet99.exercise.jobsearch.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Snapshot of recorded search latencies: the slowest queries, the most frequent ones and recent samples.
+ */
+public record QueryStats(
+        @JsonProperty("sample_rate")
+        double sampleRate,
+
+        @JsonProperty("slowest")
+        List<Sample> slowest,
+
+        @JsonProperty("most_frequent")
+        List<Frequency> mostFrequent,
+
+        @JsonProperty("recent")
+        List<Sample> recent
+) {
+
+    /**
+     * One search; {@code cache} is "hit", "miss" or "coalesced" (waited on another caller's search),
+     * and {@code solr_qtime_ms} is present only for a miss.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Sample(
+            @JsonProperty("query")
+            String query,
+
+            @JsonProperty("language")
+            String language,
+
+            @JsonProperty("page")
+            int page,
+
+            @JsonProperty("size")
+            int size,
+
+            @JsonProperty("total_ms")
+            double totalMillis,
+
+            @JsonProperty("solr_qtime_ms")
+            Integer solrQTimeMillis,
+
+            @JsonProperty("num_found")
+            long numFound,
+
+            @JsonProperty("cache")
+            String cache,
+
+            @JsonProperty("at")
+            Instant at
+    ) {}
+
+    /**
+     * Estimated number of searches for a normalized query, scaled up from the sampled count.
+     */
+    public record Frequency(
+            @JsonProperty("query")
+            String query,
+
+            @JsonProperty("language")
+            String language,
+
+            @JsonProperty("estimated_count")
+            long estimatedCount
+    ) {}
+}
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 
 public record SearchRequest(
         @NotBlank(message = "Query cannot be empty")
@@ -16,9 +17,17 @@ public record SearchRequest(
         int page,
 
         @Positive(message = "Size must be positive")
-        int size
+        int size,
+
+        @Size(max = 512, message = "Cursor is too long")
+        String cursor
 ) {
 
+    /**
+     * Cursor that starts cursor-based paging.
+     */
+    public static final String FIRST_CURSOR = "*";
+
     /**
      * Compact constructor with validation and normalization.
      */
@@ -26,6 +35,21 @@ public record SearchRequest(
         language = language != null && !language.isBlank() ? language : "en";
         page = Math.max(0, page);
         size = size > 0 ? Math.min(size, 100) : 10; // Cap at 100 for performance
+        cursor = cursor != null && !cursor.isBlank() ? cursor : null;
+    }
+
+    /**
+     * Offset paging request.
+     */
+    public SearchRequest(String query, String language, int page, int size) {
+        this(query, language, page, size, null);
+    }
+
+    /**
+     * Whether to page by cursor, ignoring {@code page}.
+     */
+    public boolean isCursorPaged() {
+        return cursor != null;
     }
 
     /**
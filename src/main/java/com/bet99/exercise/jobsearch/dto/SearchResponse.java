@@ -2,6 +2,7 @@ package com.bet99.exercise.jobsearch.dto;
 
 
 import com.bet99.exercise.jobsearch.model.JobTitle;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.io.Serializable;
@@ -21,7 +22,11 @@ public record SearchResponse(
         int pageSize,
 
         @JsonProperty("total_pages")
-        int totalPages
+        int totalPages,
+
+        @JsonProperty("next_cursor")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String nextCursor
 ) implements Serializable {
     /**
      * Compact constructor that calculates total pages and ensures immutability.
@@ -35,7 +40,14 @@ public record SearchResponse(
      * Factory method for creating response from search results.
      */
     public static SearchResponse of(List<JobTitle> results, long totalCount, int page, int pageSize) {
-        return new SearchResponse(results, totalCount, page, pageSize, 0);
+        return new SearchResponse(results, totalCount, page, pageSize, 0, null);
+    }
+
+    /**
+     * Factory method for a cursor-paged page; {@code nextCursor} is null once the results are exhausted.
+     */
+    public static SearchResponse of(List<JobTitle> results, long totalCount, int pageSize, String nextCursor) {
+        return new SearchResponse(results, totalCount, 0, pageSize, 0, nextCursor);
     }
 
 }
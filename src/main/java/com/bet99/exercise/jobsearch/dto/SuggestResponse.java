@@ -0,0 +1,23 @@
+package com.bet99.exercise.jobsearch.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Typeahead suggestions for a partial query.
+ */
+public record SuggestResponse(
+        @JsonProperty("query")
+        String query,
+
+        @JsonProperty("suggestions")
+        List<String> suggestions,
+
+        @JsonProperty("source")
+        String source
+) {
+    public SuggestResponse {
+        suggestions = suggestions != null ? List.copyOf(suggestions) : List.of();
+    }
+}
@@ -1,7 +1,9 @@
 package com.bet99.exercise.jobsearch.exception;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -24,9 +26,14 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(SearchException.class)
     public ResponseEntity<ErrorResponse> handleSearchException(
-            SearchException ex, WebRequest request) {
+            SearchException ex, WebRequest request, HttpServletResponse response) {
 
         logger.error("Search error: {}", ex.getMessage(), ex);
+        if (response.isCommitted()) {
+            // A streamed export failed after its headers went out; rethrown, the container aborts the
+            // connection instead of ending the body as if it were complete
+            throw ex;
+        }
 
         ErrorResponse error = new ErrorResponse(
                 LocalDateTime.now(),
@@ -40,6 +47,71 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * Handle searches shed by the Solr bulkhead or cut off by the search timeout.
+     */
+    @ExceptionHandler(SearchUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleSearchUnavailableException(
+            SearchUnavailableException ex, WebRequest request) {
+
+        logger.warn("Search unavailable: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                request.getDescription(false),
+                ex.getErrorCode()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    /**
+     * Handle a cursor Solr could not resume from; the client sent it, so this is a bad request.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(
+            InvalidCursorException ex, WebRequest request) {
+
+        logger.warn("Invalid cursor: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage(),
+                request.getDescription(false),
+                ex.getErrorCode()
+        );
+
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handle an upload record over the length limit; the client sent it, so this is a bad request.
+     */
+    @ExceptionHandler(RecordTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleRecordTooLargeException(
+            RecordTooLargeException ex, WebRequest request) {
+
+        logger.warn("Rejected upload: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage(),
+                request.getDescription(false),
+                ex.getErrorCode()
+        );
+
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handle indexing-specific exceptions.
      */
@@ -0,0 +1,10 @@
+package com.bet99.exercise.jobsearch.exception;
+
+/**
+ * Solr rejected a client-supplied cursor mark: malformed, or taken from a different query.
+ */
+public class InvalidCursorException extends JobSearchException {
+    public InvalidCursorException(String message, Throwable cause) {
+        super("INVALID_CURSOR", message, cause);
+    }
+}
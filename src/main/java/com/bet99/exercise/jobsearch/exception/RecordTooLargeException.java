@@ -0,0 +1,10 @@
+package com.bet99.exercise.jobsearch.exception;
+
+/**
+ * An uploaded record is longer than the configured limit; rejected before it is buffered in full.
+ */
+public class RecordTooLargeException extends JobSearchException {
+    public RecordTooLargeException(String message, Throwable cause) {
+        super("RECORD_TOO_LARGE", message, cause);
+    }
+}
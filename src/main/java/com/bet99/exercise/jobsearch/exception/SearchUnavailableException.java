@@ -0,0 +1,10 @@
+package com.bet99.exercise.jobsearch.exception;
+
+/**
+ * Search was shed or timed out because Solr is saturated or slow; the client should retry shortly.
+ */
+public class SearchUnavailableException extends JobSearchException {
+    public SearchUnavailableException(String message, Throwable cause) {
+        super("SEARCH_UNAVAILABLE", message, cause);
+    }
+}
@@ -0,0 +1,245 @@
+package com.bet99.exercise.jobsearch.loader;
+
+import com.bet99.exercise.jobsearch.model.JobTitle;
+import com.bet99.exercise.jobsearch.service.JobTitleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * Pipelined bulk indexer.
+ * Batches are sent on virtual threads with at most {@code maxInFlight} outstanding; {@link Session#submit}
+ * blocks once that limit is reached, so producers never run ahead of Solr. Failed batches are retried
+ * with exponential backoff, and the whole load is committed once in {@link Session#finish()}, whenever
+ * the session sent any update, so deletes and partially applied batches are never left uncommitted.
+ */
+@Component
+public class BulkIndexer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkIndexer.class);
+
+    private final JobTitleService jobTitleService;
+
+    @Value("${data.loader.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${data.loader.max-in-flight:4}")
+    private int maxInFlight = 4;
+
+    @Value("${data.loader.max-retries:3}")
+    private int maxRetries = 3;
+
+    @Value("${data.loader.retry-backoff-ms:200}")
+    private long retryBackoffMillis = 200;
+
+    public BulkIndexer(JobTitleService jobTitleService) {
+        this.jobTitleService = jobTitleService;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Index a fully materialized list in pipelined batches and commit once.
+     */
+    public IndexingReport indexAll(List<JobTitle> jobTitles) {
+        return indexAll(jobTitles, docs -> {});
+    }
+
+    /**
+     * As {@link #indexAll(List)}, reporting the size of every batch once Solr has accepted it.
+     */
+    public IndexingReport indexAll(List<JobTitle> jobTitles, LongConsumer onBatchIndexed) {
+        return indexAll(jobTitles, List.of(), onBatchIndexed);
+    }
+
+    /**
+     * Delete {@code deleteIds}, then index {@code jobTitles}; both are committed together.
+     */
+    public IndexingReport indexAll(List<JobTitle> jobTitles, List<String> deleteIds, LongConsumer onBatchIndexed) {
+        try (var session = open(onBatchIndexed)) {
+            session.delete(deleteIds);
+            for (int i = 0; i < jobTitles.size(); i += batchSize) {
+                session.submit(jobTitles.subList(i, Math.min(i + batchSize, jobTitles.size())));
+            }
+            return session.finish();
+        }
+    }
+
+    /**
+     * Open a session for callers that produce batches incrementally.
+     */
+    public Session open() {
+        return open(docs -> {});
+    }
+
+    public Session open(LongConsumer onBatchIndexed) {
+        return new Session(onBatchIndexed);
+    }
+
+    public final class Session implements AutoCloseable {
+
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+        private final List<Long> batchLatencies = Collections.synchronizedList(new ArrayList<>());
+        private final LongAdder docsIndexed = new LongAdder();
+        private final LongAdder docsFailed = new LongAdder();
+        private final AtomicInteger failedBatches = new AtomicInteger();
+        private final long startNanos = System.nanoTime();
+        private final LongConsumer onBatchIndexed;
+        private volatile boolean updatesSent;
+        private boolean finished;
+
+        private Session(LongConsumer onBatchIndexed) {
+            this.onBatchIndexed = onBatchIndexed;
+        }
+
+        /**
+         * Queue a batch, blocking while {@code maxInFlight} batches are already outstanding.
+         */
+        public void submit(List<JobTitle> batch) {
+            if (batch.isEmpty()) return;
+
+            updatesSent = true;
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for an indexing slot", e);
+            }
+
+            executor.execute(() -> {
+                try {
+                    indexWithRetry(batch);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        /**
+         * Delete documents by id in batches on the calling thread; failures propagate.
+         */
+        public void delete(List<String> ids) {
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                updatesSent = true;
+                jobTitleService.deleteJobTitleBatch(ids.subList(from, Math.min(from + batchSize, ids.size())));
+            }
+        }
+
+        /**
+         * Wait for outstanding batches, commit once if anything was sent, and report throughput.
+         */
+        public IndexingReport finish() {
+            if (finished) {
+                throw new IllegalStateException("Session already finished");
+            }
+            finished = true;
+            awaitOutstanding();
+
+            // Commit even if every batch failed: a failed batch may have been partly applied
+            if (updatesSent) {
+                jobTitleService.completeLoad();
+            }
+
+            var report = buildReport((System.nanoTime() - startNanos) / 1_000_000);
+            logger.info("Bulk indexing finished: {}", report);
+            return report;
+        }
+
+        @Override
+        public void close() {
+            if (!finished) {
+                awaitOutstanding();
+            }
+        }
+
+        private void indexWithRetry(List<JobTitle> batch) {
+            for (int attempt = 1; ; attempt++) {
+                var batchStart = System.nanoTime();
+                try {
+                    jobTitleService.indexJobTitleBatch(batch);
+                    batchLatencies.add((System.nanoTime() - batchStart) / 1_000_000);
+                    docsIndexed.add(batch.size());
+                    onBatchIndexed.accept(batch.size());
+                    return;
+                } catch (Exception e) {
+                    if (attempt > maxRetries) {
+                        logger.error("Giving up on batch of {} after {} attempts: {}",
+                                batch.size(), attempt, e.getMessage());
+                        docsFailed.add(batch.size());
+                        failedBatches.incrementAndGet();
+                        return;
+                    }
+
+                    var backoff = retryBackoffMillis << (attempt - 1);
+                    logger.warn("Batch of {} failed (attempt {}/{}), retrying in {}ms: {}",
+                            batch.size(), attempt, maxRetries + 1, backoff, e.getMessage());
+                    if (!sleep(backoff)) {
+                        docsFailed.add(batch.size());
+                        failedBatches.incrementAndGet();
+                        return;
+                    }
+                }
+            }
+        }
+
+        private void awaitOutstanding() {
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                    logger.info("Waiting for {} in-flight indexing batches...", maxInFlight - inFlight.availablePermits());
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private IndexingReport buildReport(long elapsedMillis) {
+            List<Long> sorted;
+            synchronized (batchLatencies) {
+                sorted = new ArrayList<>(batchLatencies);
+            }
+            Collections.sort(sorted);
+
+            long indexed = docsIndexed.sum();
+            long total = sorted.stream().mapToLong(Long::longValue).sum();
+            return new IndexingReport(
+                    indexed,
+                    docsFailed.sum(),
+                    sorted.size() + failedBatches.get(),
+                    failedBatches.get(),
+                    elapsedMillis,
+                    elapsedMillis > 0 ? indexed * 1000.0 / elapsedMillis : indexed,
+                    sorted.isEmpty() ? 0 : sorted.getFirst(),
+                    sorted.isEmpty() ? 0 : total / sorted.size(),
+                    sorted.isEmpty() ? 0 : sorted.get((int) Math.ceil(sorted.size() * 0.95) - 1),
+                    sorted.isEmpty() ? 0 : sorted.getLast()
+            );
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
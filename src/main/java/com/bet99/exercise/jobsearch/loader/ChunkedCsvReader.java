@@ -0,0 +1,115 @@
+package com.bet99.exercise.jobsearch.loader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Memory-maps a UTF-8 CSV file and parses newline-aligned chunks in parallel.
+ * <p>
+ * Chunk boundaries are placed on line feeds outside quoted fields, found by one cheap byte scan, so a quoted
+ * field with embedded line breaks is never split. Each chunk is decoded and parsed independently by
+ * {@code chunkParser} on the common fork-join pool; results come back in file order for the caller to merge.
+ */
+public final class ChunkedCsvReader {
+
+    private static final int MIN_CHUNK_BYTES = 1 << 20;
+
+    private ChunkedCsvReader() {
+    }
+
+    public static <R> List<R> parse(Path file, boolean skipHeader, Function<CsvParser, R> chunkParser)
+            throws IOException {
+        int chunks = Runtime.getRuntime().availableProcessors() * 4;
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            return parse(channel, size, skipHeader, (int) Math.max(MIN_CHUNK_BYTES, size / chunks), chunkParser);
+        }
+    }
+
+    static <R> List<R> parse(Path file, boolean skipHeader, int chunkBytes, Function<CsvParser, R> chunkParser)
+            throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return parse(channel, channel.size(), skipHeader, chunkBytes, chunkParser);
+        }
+    }
+
+    private static <R> List<R> parse(FileChannel channel, long size, boolean skipHeader, int chunkBytes,
+                                     Function<CsvParser, R> chunkParser) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("CSV file too large to map in one piece: " + size + " bytes");
+        }
+
+        var bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        var bounds = chunkBoundaries(bytes, skipHeader, chunkBytes);
+
+        return IntStream.range(0, bounds.length - 1)
+                .parallel()
+                .mapToObj(i -> chunkParser.apply(parser(decode(bytes, bounds[i], bounds[i + 1]))))
+                .toList();
+    }
+
+    /**
+     * Offsets where chunks start, plus the end of the data; consecutive pairs delimit a chunk.
+     */
+    static int[] chunkBoundaries(ByteBuffer bytes, boolean skipHeader, int chunkBytes) {
+        int size = bytes.limit();
+        var bounds = new int[16];
+        int count = 0;
+
+        boolean inQuotes = false;
+        boolean inHeader = skipHeader;
+        int nextTarget = chunkBytes;
+        if (!inHeader) {
+            bounds[count++] = 0;
+        }
+
+        for (int i = 0; i < size; i++) {
+            byte b = bytes.get(i);
+            if (b == '"') {
+                inQuotes = !inQuotes;
+            } else if (b == '\n' && !inQuotes && (inHeader || i + 1 >= nextTarget) && i + 1 < size) {
+                if (count == bounds.length) {
+                    bounds = Arrays.copyOf(bounds, count * 2);
+                }
+                bounds[count++] = i + 1;
+                nextTarget = i + 1 + chunkBytes;
+                inHeader = false;
+            }
+        }
+
+        if (count == 0) {
+            return new int[0];
+        }
+        bounds = Arrays.copyOf(bounds, count + 1);
+        bounds[count] = size;
+        return bounds;
+    }
+
+    private static CharBuffer decode(ByteBuffer bytes, int from, int to) {
+        try {
+            return StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .decode(bytes.slice(from, to - from));
+        } catch (CharacterCodingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static CsvParser parser(CharBuffer chars) {
+        int offset = chars.arrayOffset();
+        return new CsvParser(chars.array(), offset + chars.position(), offset + chars.limit());
+    }
+}
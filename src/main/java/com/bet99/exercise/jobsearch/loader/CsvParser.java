@@ -0,0 +1,264 @@
+package com.bet99.exercise.jobsearch.loader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Single-pass RFC 4180 CSV parser over a {@code char[]} range.
+ * <p>
+ * {@link #next()} advances record by record and only records field boundaries, so walking a file allocates
+ * nothing per row; Strings are created only for the fields a caller actually asks for. Quoted fields may contain
+ * commas, line breaks and escaped quotes ({@code ""}). Records end at LF, CRLF or CR. A leading BOM is skipped.
+ * Instances are not thread-safe; parse disjoint ranges with separate parsers.
+ */
+public final class CsvParser {
+
+    private static final char QUOTE = '"';
+    private static final char COMMA = ',';
+    private static final char BOM = '\uFEFF';
+
+    private final char[] data;
+    private final int end;
+    private int pos;
+
+    private int recordStart;
+    private int recordEnd;
+    private int fieldCount;
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private boolean[] fieldEscaped = new boolean[16];
+
+    private final StringBuilder scratch = new StringBuilder(256);
+
+    public CsvParser(char[] data) {
+        this(data, 0, data.length);
+    }
+
+    public CsvParser(char[] data, int from, int to) {
+        this.data = data;
+        this.end = to;
+        this.pos = from < to && data[from] == BOM ? from + 1 : from;
+    }
+
+    /**
+     * Read a whole stream into a parser without an intermediate String.
+     */
+    public static CsvParser read(Reader reader) throws IOException {
+        var buffer = new char[64 * 1024];
+        int length = 0;
+        int read;
+        while ((read = reader.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        return new CsvParser(buffer, 0, length);
+    }
+
+    /**
+     * Advance to the next record.
+     *
+     * @return false once the input is exhausted
+     */
+    public boolean next() {
+        fieldCount = 0;
+        if (pos >= end) {
+            return false;
+        }
+
+        recordStart = pos;
+        while (true) {
+            if (data[pos] == QUOTE) {
+                parseQuotedField();
+            } else {
+                int start = pos;
+                pos = scanToDelimiter(pos);
+                addField(start, pos, false);
+            }
+
+            if (pos >= end) {
+                recordEnd = pos;
+                return true;
+            }
+            if (data[pos] == COMMA) {
+                pos++;
+                if (pos >= end) {
+                    addField(pos, pos, false);
+                    recordEnd = pos;
+                    return true;
+                }
+                continue;
+            }
+
+            recordEnd = pos;
+            if (data[pos] == '\r') pos++;
+            if (pos < end && data[pos] == '\n') pos++;
+            return true;
+        }
+    }
+
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Field value with quotes unescaped.
+     */
+    public String field(int index) {
+        checkIndex(index);
+        int start = fieldStarts[index];
+        int stop = fieldEnds[index];
+        return fieldEscaped[index] ? copy(start, stop, false) : new String(data, start, stop - start);
+    }
+
+    /**
+     * Field value with surrounding whitespace removed.
+     */
+    public String trimmedField(int index) {
+        checkIndex(index);
+        int start = trimStart(index);
+        int stop = trimEnd(index, start);
+        return fieldEscaped[index] ? copy(start, stop, false) : new String(data, start, stop - start);
+    }
+
+    /**
+     * Trimmed field with the square brackets NOC files use as annotations removed.
+     */
+    public String cleanField(int index) {
+        checkIndex(index);
+        int start = trimStart(index);
+        int stop = trimEnd(index, start);
+        if (!fieldEscaped[index] && indexOfBracket(start, stop) < 0) {
+            return new String(data, start, stop - start);
+        }
+        return copy(start, stop, true);
+    }
+
+    /**
+     * Parse a non-negative integer field, ignoring whitespace and square brackets (e.g. {@code "[00010]"}).
+     *
+     * @throws NumberFormatException if the field has no digits or any other character
+     */
+    public int intField(int index) {
+        checkIndex(index);
+        int value = 0;
+        boolean digits = false;
+        for (int i = fieldStarts[index]; i < fieldEnds[index]; i++) {
+            char c = data[i];
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digits = true;
+            } else if (c != '[' && c != ']' && !Character.isWhitespace(c)) {
+                throw new NumberFormatException("Not a number: '" + field(index) + "'");
+            }
+        }
+        if (!digits) {
+            throw new NumberFormatException("Not a number: '" + field(index) + "'");
+        }
+        return value;
+    }
+
+    /**
+     * Whether the raw text of the current record contains {@code needle}; a cheap pre-filter before field access.
+     */
+    public boolean recordContains(String needle) {
+        int last = recordEnd - needle.length();
+        char first = needle.isEmpty() ? 0 : needle.charAt(0);
+        outer:
+        for (int i = recordStart; i <= last; i++) {
+            if (data[i] != first) continue;
+            for (int j = 1; j < needle.length(); j++) {
+                if (data[i + j] != needle.charAt(j)) continue outer;
+            }
+            return true;
+        }
+        return needle.isEmpty();
+    }
+
+    private void parseQuotedField() {
+        int start = ++pos;
+        boolean escaped = false;
+        while (pos < end) {
+            if (data[pos] == QUOTE) {
+                if (pos + 1 < end && data[pos + 1] == QUOTE) {
+                    escaped = true;
+                    pos += 2;
+                    continue;
+                }
+                break;
+            }
+            pos++;
+        }
+
+        int stop = pos;
+        if (pos < end) {
+            pos++; // closing quote
+        }
+        // Lenient: ignore stray characters between the closing quote and the delimiter
+        pos = scanToDelimiter(pos);
+        addField(start, stop, escaped);
+    }
+
+    private int scanToDelimiter(int from) {
+        int i = from;
+        while (i < end) {
+            char c = data[i];
+            if (c == COMMA || c == '\n' || c == '\r') break;
+            i++;
+        }
+        return i;
+    }
+
+    private void addField(int start, int stop, boolean escaped) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+            fieldEscaped = Arrays.copyOf(fieldEscaped, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = stop;
+        fieldEscaped[fieldCount] = escaped;
+        fieldCount++;
+    }
+
+    private String copy(int start, int stop, boolean dropBrackets) {
+        scratch.setLength(0);
+        for (int i = start; i < stop; i++) {
+            char c = data[i];
+            if (c == QUOTE && i + 1 < stop && data[i + 1] == QUOTE) {
+                i++;
+            } else if (dropBrackets && (c == '[' || c == ']')) {
+                continue;
+            }
+            scratch.append(c);
+        }
+        return scratch.toString();
+    }
+
+    private int trimStart(int index) {
+        int start = fieldStarts[index];
+        while (start < fieldEnds[index] && data[start] <= ' ') start++;
+        return start;
+    }
+
+    private int trimEnd(int index, int start) {
+        int stop = fieldEnds[index];
+        while (stop > start && data[stop - 1] <= ' ') stop--;
+        return stop;
+    }
+
+    private int indexOfBracket(int start, int stop) {
+        for (int i = start; i < stop; i++) {
+            if (data[i] == '[' || data[i] == ']') return i;
+        }
+        return -1;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + index + " of " + fieldCount);
+        }
+    }
+}
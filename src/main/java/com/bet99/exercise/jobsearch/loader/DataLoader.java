@@ -1,25 +1,34 @@
 package com.bet99.exercise.jobsearch.loader;
 
+import com.bet99.exercise.jobsearch.cache.JobTitleStore;
 import com.bet99.exercise.jobsearch.exception.DataLoadException;
 import com.bet99.exercise.jobsearch.model.JobTitle;
+import com.bet99.exercise.jobsearch.model.JobTitleIdentity;
 import com.bet99.exercise.jobsearch.service.JobTitleService;
+import com.bet99.exercise.jobsearch.suggest.SuggestService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * NOC data loader
@@ -28,21 +37,61 @@ import java.util.stream.Collectors;
 public class DataLoader implements CommandLineRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(DataLoader.class);
-    private static final int BATCH_SIZE = 500;
 
+    private static final String MODE_FULL = "full";
+
+    private final BulkIndexer bulkIndexer;
     private final JobTitleService jobTitleService;
+    private final LoaderLock loaderLock;
+    private final LoadProgressTracker progress;
+    private final SuggestService suggestService;
+    private final JobTitleStore jobTitleStore;
+    private final MeterRegistry meterRegistry;
 
     @Value("${data.loader.enabled:true}")
     private boolean loaderEnabled;
 
+    @Value("${data.loader.async:true}")
+    private boolean async = true;
+
+    @Value("${data.loader.mode:delta}")
+    private String loaderMode = "delta";
+
+    @Value("${data.loader.fast-start:true}")
+    private boolean fastStart = true;
+
+    @Value("${data.loader.leader-lock.enabled:false}")
+    private boolean leaderLockEnabled;
+
+    @Value("${data.loader.leader-lock.wait-ms:300000}")
+    private long leaderWaitMillis = 300000;
+
+    @Value("${data.loader.leader-lock.poll-ms:2000}")
+    private long leaderPollMillis = 2000;
+
     @Value("classpath:data/noc_2021_version_1.0_classification_structure.csv")
     private Resource structureResource;
 
     @Value("classpath:data/noc_2021_version_1.0_elements.csv")
     private Resource elementsResource;
 
-    public DataLoader(JobTitleService jobTitleService) {
+    /**
+     * Elements CSV on the filesystem, e.g. a mounted volume. Only a plain file can be memory-mapped and parsed
+     * in parallel; the classpath copy packed in the jar is read sequentially.
+     */
+    @Value("${data.loader.elements-path:}")
+    private String elementsPath = "";
+
+    public DataLoader(BulkIndexer bulkIndexer, JobTitleService jobTitleService, LoaderLock loaderLock,
+                      LoadProgressTracker progress, SuggestService suggestService, JobTitleStore jobTitleStore,
+                      MeterRegistry meterRegistry) {
+        this.bulkIndexer = bulkIndexer;
         this.jobTitleService = jobTitleService;
+        this.loaderLock = loaderLock;
+        this.progress = progress;
+        this.suggestService = suggestService;
+        this.jobTitleStore = jobTitleStore;
+        this.meterRegistry = meterRegistry;
     }
 
 /*    @Override
@@ -79,50 +128,191 @@ public class DataLoader implements CommandLineRunner {
     public void run(String... args) {
         if (!loaderEnabled) {
             logger.info("Data loader is disabled");
+            progress.completed("Data loader is disabled");
             return;
         }
 
+        if (async) {
+            // The web server comes up immediately; readiness waits for the first load
+            Thread.ofVirtual().name("noc-data-loader").start(() -> {
+                try {
+                    loadIndex();
+                } catch (DataLoadException e) {
+                    logger.error("Background NOC data load failed, instance stays out of service");
+                }
+            });
+        } else {
+            loadIndex();
+        }
+    }
+
+    /**
+     * Bring the index up to date with the source files, recording progress for readiness and the progress endpoint.
+     */
+    void loadIndex() {
+        progress.started();
         try {
-            logger.info("Starting NOC data loading...");
-            var startTime = System.currentTimeMillis();
+            var elements = elementsSource();
+            var fingerprint = SourceFingerprint.of(structureResource, elements);
+            var jobTitles = parseSource(elements);
+            suggestService.rebuild(jobTitles);
+            jobTitleStore.replaceAll(jobTitles);
+
+            String outcome;
+            if (isIndexCurrent(fingerprint)) {
+                logger.info("Index already matches source data {}, skipping load", fingerprint);
+                outcome = "Index already current";
+            } else if (leaderLockEnabled) {
+                outcome = loadAsLeader(fingerprint, jobTitles);
+            } else {
+                outcome = load(fingerprint, jobTitles);
+            }
+            progress.completed(outcome);
+        } catch (Exception e) {
+            logger.error("Error loading NOC data: {}", e.getMessage(), e);
+            progress.failed(e);
+            throw new DataLoadException("Failed to load NOC data", e);
+        }
+    }
 
-            // Load classifications
-            var classifications = loadClassifications();
-            logger.info("Loaded {} classifications", classifications.size());
+    /**
+     * Only the lock holder reloads; the other replicas wait until the index carries the new fingerprint,
+     * and take over if the holder's lease expires first. A replica that had to wait trusts the fingerprint
+     * even without fast start, since the holder it waited for has just loaded that source.
+     */
+    private String loadAsLeader(String fingerprint, Collection<JobTitle> jobTitles) throws Exception {
+        var deadline = System.currentTimeMillis() + leaderWaitMillis;
+        var waited = false;
+        while (!loaderLock.tryAcquire()) {
+            waited = true;
+            if (System.currentTimeMillis() >= deadline) {
+                logger.warn("Gave up waiting {}ms for another instance to load the index, serving it as is",
+                        leaderWaitMillis);
+                return "Timed out waiting for another instance to load the index";
+            }
+            Thread.sleep(leaderPollMillis);
+            if (indexHasFingerprint(fingerprint)) {
+                logger.info("Index was loaded by another instance");
+                return "Index loaded by another instance";
+            }
+        }
 
-            // Create job titles list
-            var jobTitles = new ArrayList<JobTitle>();
+        try {
+            if (waited ? indexHasFingerprint(fingerprint) : isIndexCurrent(fingerprint)) {
+                logger.info("Index was loaded by another instance");
+                return "Index loaded by another instance";
+            }
+            return load(fingerprint, jobTitles);
+        } finally {
+            loaderLock.release();
+        }
+    }
 
-            // 1. Add main occupation titles from classification structure (Level 5 only)
-            var classificationTitles = loadClassificationTitles(classifications);
-            jobTitles.addAll(classificationTitles);
-            logger.info("Added {} classification titles", classificationTitles.size());
+    private boolean isIndexCurrent(String fingerprint) {
+        return fastStart && indexHasFingerprint(fingerprint);
+    }
 
-            // 2. Add job examples from elements.csv
-            var jobExamples = loadJobTitlesFromElements(classifications);
-            jobTitles.addAll(jobExamples);
-            logger.info("Added {} job examples", jobExamples.size());
+    private boolean indexHasFingerprint(String fingerprint) {
+        return jobTitleService.indexSourceFingerprint().filter(fingerprint::equals).isPresent();
+    }
 
-            logger.info("Total processed: {} unique job titles", jobTitles.size());
+    /**
+     * Parse the source files into job titles keyed by stable id. Cheap next to indexing,
+     * so it also runs when the index is current, to feed the suggestion indexes.
+     */
+    private Collection<JobTitle> parseSource(Resource elements) throws Exception {
+        // Load classifications
+        var classifications = stageTimer("parse").recordCallable(this::loadClassifications);
+        logger.info("Loaded {} classifications", classifications.size());
+
+        var transform = Timer.start();
+
+        // Create job titles keyed by stable id; classification titles win over identical examples
+        var jobTitles = new LinkedHashMap<String, JobTitle>(32000);
+
+        // 1. Add main occupation titles from classification structure (Level 5 only)
+        var classificationTitles = loadClassificationTitles(classifications);
+        classificationTitles.forEach(jobTitle -> jobTitles.putIfAbsent(jobTitle.id(), jobTitle));
+        logger.info("Added {} classification titles", classificationTitles.size());
+
+        // 2. Add job examples from elements.csv
+        var jobExamples = loadJobTitlesFromElements(elements, classifications);
+        jobExamples.forEach(jobTitle -> jobTitles.putIfAbsent(jobTitle.id(), jobTitle));
+        logger.info("Added {} job examples", jobExamples.size());
+
+        transform.stop(stageTimer("transform"));
+        logger.info("Total processed: {} unique job titles", jobTitles.size());
+        progress.parsed(jobTitles.size());
+        return jobTitles.values();
+    }
 
-            indexInParallelBatches(jobTitles);
+    /**
+     * Load stages: "parse" reads the classification structure, "transform" builds job titles
+     * (including the elements file), "index" sends them to Solr.
+     */
+    private Timer stageTimer(String stage) {
+        return Timer.builder("jobsearch.load.stage")
+                .description("NOC data load time by stage")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
 
-            var totalTime = System.currentTimeMillis() - startTime;
-            logger.info("NOC data loading completed in {}ms", totalTime);
+    private String load(String fingerprint, Collection<JobTitle> jobTitles) {
+        logger.info("Starting NOC data loading ({} mode)...", loaderMode);
+        var startTime = System.currentTimeMillis();
 
-        } catch (Exception e) {
-            logger.error("Error loading NOC data: {}", e.getMessage(), e);
-            throw new DataLoadException("Failed to load NOC data", e);
+        long failed;
+        if (MODE_FULL.equalsIgnoreCase(loaderMode)) {
+            progress.toIndex(jobTitles.size());
+            failed = bulkIndexer.indexAll(new ArrayList<>(jobTitles), progress::indexed).docsFailed();
+        } else {
+            failed = applyDelta(planDelta(jobTitles, jobTitleService.indexedContentHashes()));
+        }
+
+        var totalTime = System.currentTimeMillis() - startTime;
+        stageTimer("index").record(totalTime, TimeUnit.MILLISECONDS);
+        logger.info("NOC data loading completed in {}ms", totalTime);
+
+        // A partial load keeps the old fingerprint so the next start retries
+        if (failed > 0) {
+            logger.warn("{} documents failed to index, source fingerprint not recorded", failed);
+            return failed + " documents failed to index";
         }
+        jobTitleService.recordSourceFingerprint(fingerprint);
+        return "Loaded in " + totalTime + "ms";
     }
 
-    private List<JobTitle> loadClassificationTitles(Map<String, ClassificationData> classifications) {
-        var idCounter = new java.util.concurrent.atomic.AtomicInteger(1);
+    /**
+     * Diff the source against the index: new or changed documents are upserted,
+     * indexed ids missing from the source are deleted.
+     */
+    static DeltaPlan planDelta(Collection<JobTitle> source, Map<String, String> indexedHashes) {
+        var upserts = new ArrayList<JobTitle>();
+        var staleIds = new HashSet<>(indexedHashes.keySet());
+        for (var jobTitle : source) {
+            staleIds.remove(jobTitle.id());
+            if (!JobTitleIdentity.contentHash(jobTitle).equals(indexedHashes.get(jobTitle.id()))) {
+                upserts.add(jobTitle);
+            }
+        }
+        return new DeltaPlan(upserts, new ArrayList<>(staleIds), source.size() - upserts.size());
+    }
 
+    private long applyDelta(DeltaPlan plan) {
+        logger.info("Delta load: {} to upsert, {} to delete, {} unchanged",
+                plan.upserts().size(), plan.deletes().size(), plan.unchanged());
+
+        progress.toIndex(plan.upserts().size());
+        // Deletes and upserts share one session, so the deletes commit even if every upsert fails
+        return bulkIndexer.indexAll(plan.upserts(), plan.deletes(), progress::indexed).docsFailed();
+    }
+
+    private List<JobTitle> loadClassificationTitles(Map<String, ClassificationData> classifications) {
         return classifications.values().stream()
                 .filter(c -> c.level() == 5)  // Only Unit Group level (detailed occupations)
+                .sorted(Comparator.comparing(ClassificationData::code))
                 .map(c -> new JobTitle(
-                        String.valueOf(idCounter.getAndIncrement()),
+                        JobTitleIdentity.id(c.code(), c.title()),
                         c.code(),
                         c.title(),  // "Legislators", "Cooks", etc.
                         c.title() + " (FR)",
@@ -135,71 +325,111 @@ public class DataLoader implements CommandLineRunner {
     }
 
     /**
-     * Load classifications using efficient stream processing.
+     * Load classifications in a single pass over the structure file.
      */
     private Map<String, ClassificationData> loadClassifications() throws Exception {
-        try (var reader = new BufferedReader(
-                new InputStreamReader(structureResource.getInputStream(), StandardCharsets.UTF_8))) {
-
-            return reader.lines()
-                    .skip(1) // Skip header
-                    .parallel() // Parallel processing
-                    .map(this::parseClassificationLine)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .collect(Collectors.toConcurrentMap(
-                            ClassificationData::code,
-                            data -> data,
-                            (existing, replacement) -> existing
-                    ));
+        var record = readCsv(structureResource);
+        record.next(); // Skip header
+
+        var classifications = new HashMap<String, ClassificationData>(1024);
+        while (record.next()) {
+            parseClassification(record).ifPresent(data -> classifications.putIfAbsent(data.code(), data));
+        }
+        return classifications;
+    }
+
+    /**
+     * The configured {@code data.loader.elements-path}, or the classpath copy when it is unset or missing.
+     */
+    private Resource elementsSource() {
+        if (elementsPath == null || elementsPath.isBlank()) {
+            return elementsResource;
         }
+        var file = new FileSystemResource(elementsPath);
+        if (!file.isReadable()) {
+            logger.error("data.loader.elements-path {} is not a readable file, falling back to {}",
+                    elementsPath, elementsResource.getDescription());
+            return elementsResource;
+        }
+        return file;
     }
 
-    private List<JobTitle> loadJobTitlesFromElements(Map<String, ClassificationData> classifications) throws Exception {
-        var jobTitleSet = new ConcurrentHashMap<String, JobTitle>(28000);
-        var idCounter = new AtomicInteger(1);
+    /**
+     * Load job title examples. A file on disk is memory-mapped and parsed chunk-parallel;
+     * a classpath entry inside a jar falls back to a single sequential pass.
+     * Chunks are merged in file order; ids come from NOC code and title, so they are the same on every load.
+     */
+    private List<JobTitle> loadJobTitlesFromElements(Resource elements, Map<String, ClassificationData> classifications)
+            throws Exception {
+        if (!elements.exists()) {
+            logger.warn("Elements file {} not found, skipping job examples", elements.getDescription());
+            return List.of();
+        }
 
-        try (var reader = new BufferedReader(
-                new InputStreamReader(elementsResource.getInputStream(), StandardCharsets.UTF_8))) {
+        List<List<JobExample>> chunks;
+        if (elements.isFile()) {
+            chunks = ChunkedCsvReader.parse(elements.getFile().toPath(), true, this::collectJobExamples);
+        } else {
+            logger.warn("Elements file {} is not on the filesystem, parsing it sequentially; "
+                    + "set data.loader.elements-path to a mounted copy for the parallel load", elements.getDescription());
+            var record = readCsv(elements);
+            record.next(); // Skip header
+            chunks = List.of(collectJobExamples(record));
+        }
 
-            reader.lines()
-                    .skip(1)
-                    .parallel()
-                    .filter(line -> line.contains("example") || line.contains("Job title")) // Early filter
-                    .forEach(line -> processElementLine(line, classifications, jobTitleSet, idCounter));
+        var jobTitleSet = new LinkedHashMap<String, JobTitle>(28000);
+        for (var chunk : chunks) {
+            for (var example : chunk) {
+                jobTitleSet.computeIfAbsent(example.key(), k -> createJobTitle(
+                        example.nocCode(), example.title(),
+                        classifications.get(example.nocCode())));
+            }
         }
 
+        logger.debug("Merged job examples from {} chunks", chunks.size());
         return new ArrayList<>(jobTitleSet.values());
     }
 
-    private void processElementLine(String line, Map<String, ClassificationData> classifications,
-                                    ConcurrentHashMap<String, JobTitle> jobTitleSet, AtomicInteger idCounter) {
-        try {
-            var fields = parseCsvLine(line);
-            if (fields.length < 5) return;
-
-            String jobTitleText = fields[4].trim();
+    /**
+     * Collect the distinct job examples of one chunk into a chunk-local buffer.
+     */
+    private List<JobExample> collectJobExamples(CsvParser record) {
+        var examples = new LinkedHashMap<String, JobExample>();
+        while (record.next()) {
+            if (record.recordContains("example") || record.recordContains("Job title")) { // Early filter
+                var example = parseJobExample(record);
+                if (example != null) {
+                    examples.putIfAbsent(example.key(), example);
+                }
+            }
+        }
+        return new ArrayList<>(examples.values());
+    }
 
-            if (jobTitleText.isEmpty()) return;
+    private JobExample parseJobExample(CsvParser record) {
+        if (record.fieldCount() < 5) return null;
 
-            String nocCode = formatNocCode(fields[1].trim());
-            String key = nocCode + ":" + jobTitleText;
+        String jobTitleText = record.trimmedField(4);
+        if (jobTitleText.isEmpty()) return null;
 
-            jobTitleSet.computeIfAbsent(key, k -> createJobTitle(
-                    idCounter.getAndIncrement(), nocCode, jobTitleText, classifications.get(nocCode)));
-        } catch (Exception e) {
-            // Log and continue
+        try {
+            return new JobExample(formatNocCode(record.intField(1)), jobTitleText);
+        } catch (NumberFormatException e) {
+            return null; // Skip malformed codes
         }
     }
 
-    private String formatNocCode(String rawCode) {
-        String cleaned = rawCode.replaceAll("[\\[\\]]", "");
-        return String.format("%05d", Integer.parseInt(cleaned));
+    /**
+     * Zero-pad a NOC code to five digits without going through String.format.
+     */
+    static String formatNocCode(int code) {
+        var digits = Integer.toString(code);
+        return digits.length() >= 5 ? digits : "00000".substring(digits.length()) + digits;
     }
 
-    private JobTitle createJobTitle(int id, String nocCode, String title, ClassificationData classData) {
+    private JobTitle createJobTitle(String nocCode, String title, ClassificationData classData) {
         return new JobTitle(
-                String.valueOf(id), nocCode, title, title + " (FR)",
+                JobTitleIdentity.id(nocCode, title), nocCode, title, title + " (FR)",
                 classData != null ? classData.definition() : "",
                 classData != null ? classData.definition() + " (FR)" : "",
                 classData != null ? classData.category() : "General",
@@ -211,83 +441,37 @@ public class DataLoader implements CommandLineRunner {
 
 
     /**
-     * Index in parallel batches for maximum performance.
+     * Build classification data from the parser's current record.
      */
-    private void indexInParallelBatches(List<JobTitle> jobTitles) {
-        var totalBatches = (jobTitles.size() + BATCH_SIZE - 1) / BATCH_SIZE;
-
-        for (int i = 0; i < jobTitles.size(); i += BATCH_SIZE) {
-            int end = Math.min(i + BATCH_SIZE, jobTitles.size());
-            var batch = jobTitles.subList(i, end);
-
-            try {
-                jobTitleService.indexJobTitles(batch);
-                int batchNum = (i / BATCH_SIZE) + 1;
-                logger.info("Progress: {}/{} batches ({} titles)", batchNum, totalBatches, end);
-            } catch (Exception e) {
-                logger.error("Error indexing batch starting at {}: {}", i, e.getMessage());
-            }
+    Optional<ClassificationData> parseClassification(CsvParser record) {
+        if (record.fieldCount() < 5) {
+            return Optional.empty();
         }
-    }
 
-
-
-    /**
-     * Parse classification line efficiently
-     */
-    private Optional<ClassificationData> parseClassificationLine(String line) {
         try {
-            var fields = parseCsvLine(line);
-            if (fields.length >= 5) {
-                String rawCode = fields[2].trim();
-                rawCode = rawCode.replace("[", "").replace("]", "");
-                String formattedCode = String.format("%05d", Integer.parseInt(rawCode));
-                String title = fields[3].trim().replace("[", "").replace("]", "");
-                String definition = fields[4].trim().replace("[", "").replace("]", "");
-
-                return Optional.of(new ClassificationData(
-                        formattedCode,
-                        title,
-                        definition,
-                        Integer.parseInt(fields[0].trim()),
-                        categorizeJob(title)
-                ));
-            }
-        } catch (Exception e) {
-            // Skip malformed lines
+            String title = record.cleanField(3);
+            return Optional.of(new ClassificationData(
+                    formatNocCode(record.intField(2)),
+                    title,
+                    record.cleanField(4),
+                    record.intField(0),
+                    categorizeJob(title)
+            ));
+        } catch (NumberFormatException e) {
+            return Optional.empty(); // Skip malformed lines
         }
-        return Optional.empty();
     }
 
-    /**
-     * Efficient CSV parsing handling quoted fields.
-     */
-    private String[] parseCsvLine(String line) {
-        var fields = new ArrayList<String>();
-        var field = new StringBuilder();
-        var inQuotes = false;
-
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                fields.add(field.toString());
-                field.setLength(0);
-            } else {
-                field.append(c);
-            }
+    private CsvParser readCsv(Resource resource) throws IOException {
+        try (var reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            return CsvParser.read(reader);
         }
-
-        fields.add(field.toString());
-        return fields.toArray(String[]::new);
     }
 
     /**
      * Categorize job
      */
-    private String categorizeJob(String title) {
+    String categorizeJob(String title) {
         var lower = title.toLowerCase();
 
         return switch (lower) {
@@ -320,5 +504,13 @@ public class DataLoader implements CommandLineRunner {
         return "Unknown";
     }
 
-    private record ClassificationData(String code, String title, String definition, int level, String category) {}
+    record DeltaPlan(List<JobTitle> upserts, List<String> deletes, int unchanged) {}
+
+    record ClassificationData(String code, String title, String definition, int level, String category) {}
+
+    private record JobExample(String nocCode, String title) {
+        String key() {
+            return nocCode + ":" + title;
+        }
+    }
 }
@@ -0,0 +1,39 @@
+package com.bet99.exercise.jobsearch.loader;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Readiness check ("indexLoad"): OUT_OF_SERVICE until the first load has completed, so the instance
+ * only receives traffic once the index is current. A later reload does not take it out of service.
+ */
+@Component
+public class IndexLoadHealthIndicator implements HealthIndicator {
+
+    private final LoadProgressTracker tracker;
+
+    public IndexLoadHealthIndicator(LoadProgressTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Health health() {
+        var progress = tracker.snapshot();
+        Health.Builder builder;
+        if (tracker.isFirstLoadCompleted()) {
+            builder = Health.up();
+        } else if (tracker.state() == LoadProgressTracker.State.FAILED) {
+            builder = Health.down();
+        } else {
+            builder = Health.outOfService();
+        }
+
+        builder.withDetail("state", progress.state())
+                .withDetail("docsIndexed", progress.docsIndexed());
+        if (progress.message() != null) {
+            builder.withDetail("message", progress.message());
+        }
+        return builder.build();
+    }
+}
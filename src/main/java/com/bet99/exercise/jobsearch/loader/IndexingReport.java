@@ -0,0 +1,26 @@
+package com.bet99.exercise.jobsearch.loader;
+
+/**
+ * Summary of a bulk indexing run: throughput plus per-batch latency distribution.
+ */
+public record IndexingReport(
+        long docsIndexed,
+        long docsFailed,
+        int batches,
+        int failedBatches,
+        long elapsedMillis,
+        double docsPerSecond,
+        long minBatchMillis,
+        long avgBatchMillis,
+        long p95BatchMillis,
+        long maxBatchMillis
+) {
+    @Override
+    public String toString() {
+        return String.format(
+                "%d docs indexed (%d failed) in %d batches (%d failed) over %dms: %.0f docs/sec, " +
+                        "batch latency min=%dms avg=%dms p95=%dms max=%dms",
+                docsIndexed, docsFailed, batches, failedBatches, elapsedMillis, docsPerSecond,
+                minBatchMillis, avgBatchMillis, p95BatchMillis, maxBatchMillis);
+    }
+}
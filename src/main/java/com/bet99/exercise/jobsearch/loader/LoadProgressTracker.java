@@ -0,0 +1,91 @@
+package com.bet99.exercise.jobsearch.loader;
+
+import com.bet99.exercise.jobsearch.dto.LoadProgress;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress of the NOC data load, written by the loader thread and read by the progress endpoint and readiness check.
+ */
+@Component
+public class LoadProgressTracker {
+
+    public enum State { PENDING, LOADING, COMPLETED, FAILED }
+
+    private volatile State state = State.PENDING;
+    private volatile String message;
+    private volatile boolean firstLoadCompleted;
+    private volatile long startMillis;
+    private volatile long endMillis;
+    private final AtomicLong docsParsed = new AtomicLong();
+    private final AtomicLong docsToIndex = new AtomicLong();
+    private final LongAdder docsIndexed = new LongAdder();
+
+    public void started() {
+        docsParsed.set(0);
+        docsToIndex.set(0);
+        docsIndexed.reset();
+        message = null;
+        endMillis = 0;
+        startMillis = System.currentTimeMillis();
+        state = State.LOADING;
+    }
+
+    public void parsed(long docs) {
+        docsParsed.set(docs);
+    }
+
+    public void toIndex(long docs) {
+        docsToIndex.set(docs);
+    }
+
+    public void indexed(long docs) {
+        docsIndexed.add(docs);
+    }
+
+    /**
+     * The index is current, whether it was just loaded or already up to date.
+     */
+    public void completed(String message) {
+        this.message = message;
+        endMillis = System.currentTimeMillis();
+        firstLoadCompleted = true;
+        state = State.COMPLETED;
+    }
+
+    public void failed(Throwable cause) {
+        message = cause.getMessage();
+        endMillis = System.currentTimeMillis();
+        state = State.FAILED;
+    }
+
+    public State state() {
+        return state;
+    }
+
+    public boolean isFirstLoadCompleted() {
+        return firstLoadCompleted;
+    }
+
+    public LoadProgress snapshot() {
+        var current = state;
+        long elapsed = switch (current) {
+            case PENDING -> 0;
+            case LOADING -> System.currentTimeMillis() - startMillis;
+            case COMPLETED, FAILED -> startMillis > 0 ? endMillis - startMillis : 0;
+        };
+        long indexed = docsIndexed.sum();
+        double rate = elapsed > 0 ? indexed * 1000.0 / elapsed : 0;
+
+        Long eta = null;
+        long remaining = docsToIndex.get() - indexed;
+        if (current == State.LOADING && rate > 0 && remaining > 0) {
+            eta = (long) (remaining * 1000 / rate);
+        }
+
+        return new LoadProgress(current.name(), docsParsed.get(), docsToIndex.get(), indexed,
+                elapsed, Math.round(rate * 10) / 10.0, eta, message);
+    }
+}
@@ -0,0 +1,60 @@
+package com.bet99.exercise.jobsearch.loader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Redis lease that elects a single replica to reload the index.
+ * The lease expires on its own if the holder dies mid-load, and is only released by the instance that took it.
+ */
+@Component
+public class LoaderLock {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoaderLock.class);
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String token = UUID.randomUUID().toString();
+
+    @Value("${data.loader.leader-lock.key:job-search::loader-lock}")
+    private String lockKey;
+
+    @Value("${data.loader.leader-lock.ttl-ms:600000}")
+    private long ttlMillis;
+
+    public LoaderLock(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Take the lease if nobody holds it. Without Redis every instance acts as leader.
+     */
+    public boolean tryAcquire() {
+        try {
+            var acquired = redisTemplate.opsForValue().setIfAbsent(lockKey, token, Duration.ofMillis(ttlMillis));
+            return Boolean.TRUE.equals(acquired);
+        } catch (Exception e) {
+            logger.warn("Could not reach Redis for the loader lock, loading without it: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    public void release() {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(lockKey), token);
+        } catch (Exception e) {
+            logger.warn("Could not release the loader lock, it will expire after {}ms: {}", ttlMillis, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.bet99.exercise.jobsearch.loader;
+
+import com.bet99.exercise.jobsearch.dto.IngestSummary;
+import com.bet99.exercise.jobsearch.exception.DataLoadException;
+import com.bet99.exercise.jobsearch.exception.RecordTooLargeException;
+import com.bet99.exercise.jobsearch.model.JobTitle;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+/**
+ * Streams newline-delimited JSON job titles into the index.
+ * Lines are parsed one at a time and handed to {@link BulkIndexer} in fixed-size chunks,
+ * so memory is bounded by the in-flight batches rather than the upload size.
+ * A single line may not exceed the configured record length: a longer one fails the upload with
+ * {@link RecordTooLargeException} instead of being buffered whole.
+ */
+@Component
+public class NdjsonIngester {
+
+    private static final Logger logger = LoggerFactory.getLogger(NdjsonIngester.class);
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    private final BulkIndexer bulkIndexer;
+    private final ObjectReader jobTitleReader;
+
+    @Value("${data.loader.max-record-length:65536}")
+    private int maxRecordLength = 65536;
+
+    public NdjsonIngester(BulkIndexer bulkIndexer, ObjectMapper objectMapper) {
+        this.bulkIndexer = bulkIndexer;
+        this.jobTitleReader = objectMapper.readerFor(JobTitle.class);
+    }
+
+    public IngestSummary ingest(InputStream input) {
+        var startTime = System.currentTimeMillis();
+        var batchSize = bulkIndexer.getBatchSize();
+        var errors = new ArrayList<IngestSummary.LineError>();
+        long lineNumber = 0;
+        long accepted = 0;
+        long rejected = 0;
+
+        try (var reader = new LineReader(new InputStreamReader(input, StandardCharsets.UTF_8), maxRecordLength);
+             var session = bulkIndexer.open()) {
+
+            var batch = new ArrayList<JobTitle>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber = reader.lineNumber();
+                if (line.isBlank()) continue;
+
+                try {
+                    batch.add(jobTitleReader.readValue(line));
+                    accepted++;
+                } catch (JsonProcessingException e) {
+                    rejected++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(new IngestSummary.LineError(lineNumber, e.getOriginalMessage()));
+                    }
+                }
+
+                if (batch.size() == batchSize) {
+                    session.submit(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            session.submit(batch);
+
+            var report = session.finish();
+            var summary = new IngestSummary(lineNumber, accepted, rejected, report.docsFailed(),
+                    System.currentTimeMillis() - startTime, errors);
+            logger.info("NDJSON ingest: {} lines, {} accepted, {} rejected, {} failed to index",
+                    lineNumber, accepted, rejected, report.docsFailed());
+            return summary;
+
+        } catch (IOException e) {
+            throw new DataLoadException("Failed to read NDJSON upload at line " + lineNumber, e);
+        }
+    }
+
+    /**
+     * {@link java.io.BufferedReader#readLine()} with a cap on the line length: it gives up as soon as a line
+     * outgrows the cap, so one oversized record cannot pull the rest of the upload into memory.
+     * Lines end at {@code \n}; a trailing {@code \r} is dropped.
+     */
+    static final class LineReader implements AutoCloseable {
+
+        private final Reader in;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private long lineNumber;
+
+        LineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        String readLine() throws IOException {
+            line.setLength(0);
+            while (true) {
+                if (position == limit) {
+                    limit = Math.max(in.read(buffer), 0);
+                    position = 0;
+                    if (limit == 0) {
+                        return line.isEmpty() ? null : completeLine();
+                    }
+                }
+                var start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                line.append(buffer, start, position - start);
+                // One extra character of room for a \r that is stripped at the end
+                if (line.length() > maxLength + 1) {
+                    throw tooLong();
+                }
+                if (position < limit) {
+                    position++;
+                    return completeLine();
+                }
+            }
+        }
+
+        /**
+         * Number of the line last returned, starting at 1.
+         */
+        long lineNumber() {
+            return lineNumber;
+        }
+
+        private String completeLine() {
+            var end = line.length();
+            if (end > 0 && line.charAt(end - 1) == '\r') {
+                end--;
+            }
+            if (end > maxLength) {
+                throw tooLong();
+            }
+            lineNumber++;
+            return line.substring(0, end);
+        }
+
+        private RecordTooLargeException tooLong() {
+            return new RecordTooLargeException("NDJSON record at line " + (lineNumber + 1)
+                    + " is longer than " + maxLength + " characters", null);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
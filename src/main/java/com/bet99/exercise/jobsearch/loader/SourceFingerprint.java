@@ -0,0 +1,45 @@
+package com.bet99.exercise.jobsearch.loader;
+
+import com.bet99.exercise.jobsearch.util.Hashing;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 over the NOC source files, compared with the fingerprint stored in the index on startup.
+ */
+final class SourceFingerprint {
+
+    /**
+     * Bump when the document layout or id scheme changes, so an index built by older code is not mistaken for current.
+     */
+    static final String FORMAT_VERSION = "2";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private SourceFingerprint() {
+    }
+
+    static String of(Resource... resources) throws IOException {
+        var digest = Hashing.sha256();
+        digest.update(FORMAT_VERSION.getBytes(StandardCharsets.UTF_8));
+
+        var buffer = new byte[BUFFER_SIZE];
+        for (var resource : resources) {
+            if (!resource.exists()) {
+                digest.update((byte) 0);
+                continue;
+            }
+            digest.update((byte) 1);
+            try (var in = resource.getInputStream()) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
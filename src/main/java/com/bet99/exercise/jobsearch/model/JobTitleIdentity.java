@@ -0,0 +1,41 @@
+package com.bet99.exercise.jobsearch.model;
+
+import com.bet99.exercise.jobsearch.util.Hashing;
+
+import java.util.HexFormat;
+
+/**
+ * Stable document ids and content hashes for job titles.
+ * Ids depend only on NOC code and title, so the same source row maps to the same Solr document on every load;
+ * the content hash changes whenever any indexed field changes, which lets a reload send only real differences.
+ */
+public final class JobTitleIdentity {
+
+    private static final char SEPARATOR = '\u001F';
+    private static final HexFormat HEX = HexFormat.of();
+
+    private JobTitleIdentity() {
+    }
+
+    /**
+     * Deterministic id, e.g. {@code 21232-3f9a1c0e52b7d4a6}.
+     */
+    public static String id(String nocCode, String title) {
+        return nocCode + "-" + HEX.formatHex(Hashing.sha256(title), 0, 8);
+    }
+
+    /**
+     * Hash of every indexed field except the id.
+     */
+    public static String contentHash(JobTitle jobTitle) {
+        var content = String.join(String.valueOf(SEPARATOR),
+                jobTitle.nocCode(),
+                jobTitle.titleEn(),
+                jobTitle.titleFr(),
+                jobTitle.descriptionEn(),
+                jobTitle.descriptionFr(),
+                jobTitle.category(),
+                jobTitle.skillLevel());
+        return HEX.formatHex(Hashing.sha256(content), 0, 16);
+    }
+}
@@ -0,0 +1,78 @@
+package com.bet99.exercise.jobsearch.query;
+
+import com.bet99.exercise.jobsearch.dto.SearchRequest;
+import com.bet99.exercise.jobsearch.util.Hashing;
+import org.apache.solr.client.solrj.util.ClientUtils;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical form of user queries, applied before caching so that {@code "Nurse"}, {@code " nurse "}
+ * and {@code "NURSE"} share one cache entry and one Solr call.
+ * Folding mirrors the title analyzers (lower case, ASCII folding), so it does not change what matches.
+ */
+@Component
+public class QueryNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final char SEPARATOR = '\u001F';
+    private static final int KEY_BYTES = 16;
+    private static final Base64.Encoder KEY_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    /**
+     * Trim, strip accents, lower-case and collapse whitespace.
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        var stripped = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    /**
+     * Folded query split into terms, each escaped for the Solr query parser.
+     */
+    public static List<String> escapedTerms(String query) {
+        var folded = fold(query);
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(folded.split(" "))
+                .map(ClientUtils::escapeQueryChars)
+                .toList();
+    }
+
+    /**
+     * Request with its query folded; page is dropped for cursor-paged requests since the cursor decides it.
+     */
+    public SearchRequest normalize(SearchRequest request) {
+        return new SearchRequest(
+                fold(request.query()),
+                request.language(),
+                request.isCursorPaged() ? 0 : request.page(),
+                request.size(),
+                request.cursor());
+    }
+
+    /**
+     * Fixed-length cache key (22 characters) for the normalized request.
+     */
+    public String cacheKey(SearchRequest request) {
+        var canonical = normalize(request);
+        var content = String.join(String.valueOf(SEPARATOR),
+                canonical.query(),
+                canonical.language(),
+                String.valueOf(canonical.page()),
+                String.valueOf(canonical.size()),
+                canonical.cursor() != null ? canonical.cursor() : "");
+        return KEY_ENCODER.encodeToString(Arrays.copyOf(Hashing.sha256(content), KEY_BYTES));
+    }
+}
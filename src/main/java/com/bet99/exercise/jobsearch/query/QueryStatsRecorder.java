@@ -0,0 +1,233 @@
+package com.bet99.exercise.jobsearch.query;
+
+import com.bet99.exercise.jobsearch.cache.CacheOutcome;
+import com.bet99.exercise.jobsearch.dto.QueryStats;
+import com.bet99.exercise.jobsearch.dto.SearchRequest;
+import com.bet99.exercise.jobsearch.dto.SearchResponse;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-memory record of search latency by normalized query: the top-N slowest searches,
+ * the most frequent queries (space-saving counts over sampled searches) and a ring buffer of recent samples.
+ * Every search is checked against the slowest list, which costs one volatile read unless it qualifies;
+ * only sampled searches pay for the frequency and recent-sample bookkeeping.
+ */
+@Component
+public class QueryStatsRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatsRecorder.class);
+    private static final int FREQUENCY_SLOTS_PER_ENTRY = 10;
+
+    @Value("${query-stats.sample-rate:0.1}")
+    private double sampleRate = 0.1;
+
+    @Value("${query-stats.top-size:20}")
+    private int topSize = 20;
+
+    @Value("${query-stats.recent-size:100}")
+    private int recentSize = 100;
+
+    @Value("${query-stats.slow-threshold-ms:500}")
+    private long slowThresholdMillis = 500;
+
+    private final ThreadLocal<Integer> solrQTime = new ThreadLocal<>();
+
+    private PriorityQueue<QueryStats.Sample> slowest;
+    private volatile double slowestFloor;
+    private final Map<String, FrequencyCount> frequencies = new HashMap<>();
+    private QueryStats.Sample[] recent;
+    private int recentNext;
+
+    @PostConstruct
+    void init() {
+        slowest = new PriorityQueue<>(topSize + 1, Comparator.comparingDouble(QueryStats.Sample::totalMillis));
+        recent = new QueryStats.Sample[recentSize];
+    }
+
+    /**
+     * Run a search and record it. The two-tier cache reports whether it was a hit, a miss, or a wait on
+     * another caller's in-flight search; a search that reached Solr reports its QTime through
+     * {@link #noteSolrQTime(int)} on the same thread.
+     */
+    public SearchResponse record(SearchRequest request, Supplier<SearchResponse> search) {
+        solrQTime.remove();
+        var outcome = new AtomicReference<CacheOutcome>();
+        var started = System.nanoTime();
+        try {
+            var response = CacheOutcome.observe(firstOutcome(outcome), search);
+            var totalMillis = (System.nanoTime() - started) / 1_000_000.0;
+            record(request, totalMillis, outcome.get(), solrQTime.get(), response.totalCount());
+            return response;
+        } finally {
+            solrQTime.remove();
+        }
+    }
+
+    /**
+     * Record a search that completes asynchronously. The uncached path finishes on another thread,
+     * so it reports Solr's QTime through the callback it is handed instead of {@link #noteSolrQTime(int)}.
+     */
+    public CompletableFuture<SearchResponse> recordAsync(SearchRequest request,
+                                                         Function<IntConsumer, CompletableFuture<SearchResponse>> search) {
+        var started = System.nanoTime();
+        var outcome = new AtomicReference<CacheOutcome>();
+        var qTime = new AtomicReference<Integer>();
+        return CacheOutcome.observe(firstOutcome(outcome), () -> search.apply(qTime::set)).thenApply(response -> {
+            var totalMillis = (System.nanoTime() - started) / 1_000_000.0;
+            record(request, totalMillis, outcome.get(), qTime.get(), response.totalCount());
+            return response;
+        });
+    }
+
+    /**
+     * Called from the uncached search path with Solr's own query time.
+     */
+    public void noteSolrQTime(int qTimeMillis) {
+        solrQTime.set(qTimeMillis);
+    }
+
+    /**
+     * @param outcome     null when the search did not go through a two-tier cache; then a search that
+     *                    reported no QTime is taken to be a hit
+     * @param qTimeMillis kept only for a miss, since a background refresh of a stale hit may report one too
+     */
+    void record(SearchRequest request, double totalMillis, CacheOutcome outcome, Integer qTimeMillis, long numFound) {
+        if (outcome == null) {
+            outcome = qTimeMillis != null ? CacheOutcome.MISS : CacheOutcome.HIT;
+        } else if (outcome != CacheOutcome.MISS) {
+            qTimeMillis = null;
+        }
+
+        var sampled = ThreadLocalRandom.current().nextDouble() < sampleRate;
+        var slow = totalMillis >= slowThresholdMillis;
+        if (!sampled && !slow && totalMillis <= slowestFloor) {
+            return;
+        }
+
+        var sample = new QueryStats.Sample(QueryNormalizer.fold(request.query()), request.language(),
+                request.page(), request.size(), totalMillis, qTimeMillis, numFound,
+                outcome.label(), Instant.now());
+        if (slow) {
+            logger.warn("Slow search: query='{}', language={}, total={}ms, qtime={}ms, found={}, cache={}",
+                    sample.query(), sample.language(), Math.round(totalMillis), qTimeMillis, numFound, sample.cache());
+        }
+
+        synchronized (this) {
+            if (totalMillis > slowestFloor) {
+                addSlowest(sample);
+            }
+            if (sampled) {
+                countFrequency(sample);
+                recent[recentNext] = sample;
+                recentNext = (recentNext + 1) % recent.length;
+            }
+        }
+    }
+
+    public synchronized QueryStats snapshot() {
+        var slowestFirst = new ArrayList<>(slowest);
+        slowestFirst.sort(Comparator.comparingDouble(QueryStats.Sample::totalMillis).reversed());
+
+        var mostFrequent = frequencies.values().stream()
+                .sorted(Comparator.comparingLong(FrequencyCount::count).reversed())
+                .limit(topSize)
+                .map(frequency -> new QueryStats.Frequency(frequency.query(), frequency.language(),
+                        Math.round(frequency.count() / sampleRate)))
+                .toList();
+
+        var recentFirst = new ArrayList<QueryStats.Sample>(recent.length);
+        for (int i = 1; i <= recent.length; i++) {
+            var sample = recent[Math.floorMod(recentNext - i, recent.length)];
+            if (sample == null) {
+                break;
+            }
+            recentFirst.add(sample);
+        }
+        return new QueryStats(sampleRate, slowestFirst, mostFrequent, recentFirst);
+    }
+
+    public synchronized void reset() {
+        slowest.clear();
+        slowestFloor = 0;
+        frequencies.clear();
+        recent = new QueryStats.Sample[recentSize];
+        recentNext = 0;
+    }
+
+    /**
+     * Keep the slowest sample per query, and only the top N of those.
+     */
+    private void addSlowest(QueryStats.Sample sample) {
+        var existing = slowest.stream().filter(other -> sameQuery(other, sample)).findFirst();
+        if (existing.isPresent()) {
+            if (existing.get().totalMillis() >= sample.totalMillis()) {
+                return;
+            }
+            slowest.remove(existing.get());
+        }
+        slowest.add(sample);
+        if (slowest.size() > topSize) {
+            slowest.poll();
+        }
+        slowestFloor = slowest.size() < topSize ? 0 : slowest.peek().totalMillis();
+    }
+
+    /**
+     * Space-saving heavy hitters: a full table replaces its least counted query and inherits its count,
+     * so memory stays fixed and frequent queries cannot be pushed out by a long tail.
+     */
+    private void countFrequency(QueryStats.Sample sample) {
+        var key = sample.language() + ':' + sample.query();
+        var current = frequencies.get(key);
+        if (current != null) {
+            frequencies.put(key, current.increment());
+            return;
+        }
+
+        long inherited = 0;
+        if (frequencies.size() >= topSize * FREQUENCY_SLOTS_PER_ENTRY) {
+            var evicted = frequencies.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().count()))
+                    .orElseThrow();
+            frequencies.remove(evicted.getKey());
+            inherited = evicted.getValue().count();
+        }
+        frequencies.put(key, new FrequencyCount(sample.query(), sample.language(), inherited + 1));
+    }
+
+    /**
+     * The outer cached call decides first; lookups nested inside its loader do not overwrite it.
+     */
+    private static Consumer<CacheOutcome> firstOutcome(AtomicReference<CacheOutcome> outcome) {
+        return reported -> outcome.compareAndSet(null, reported);
+    }
+
+    private static boolean sameQuery(QueryStats.Sample a, QueryStats.Sample b) {
+        return a.query().equals(b.query()) && a.language().equals(b.language());
+    }
+
+    private record FrequencyCount(String query, String language, long count) {
+        FrequencyCount increment() {
+            return new FrequencyCount(query, language, count + 1);
+        }
+    }
+}
@@ -1,29 +1,65 @@
 package com.bet99.exercise.jobsearch.repository;
 
 import com.bet99.exercise.jobsearch.model.JobTitle;
+import com.bet99.exercise.jobsearch.model.JobTitleIdentity;
+import com.bet99.exercise.jobsearch.query.QueryNormalizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.impl.Http2SolrClient;
+import org.apache.solr.client.solrj.request.QueryRequest;
 import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.client.solrj.util.ClientUtils;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Repository
 public class JobTitleRepository {
 
     private static final int MAX_BATCH_SIZE = 500;
-    private final SolrClient solrClient;
+    private static final String MODE_WILDCARD = "wildcard";
+    private static final int HASH_PAGE_SIZE = 5000;
+    private static final String METADATA_ID = "__index_metadata__";
+    private static final String EXCLUDE_METADATA = "-id:" + METADATA_ID;
+    private static final Executor BLOCKING_QUERY_EXECUTOR = task -> Thread.ofVirtual().name("solr-query").start(task);
 
-    public JobTitleRepository(SolrClient solrClient) {
-        this.solrClient = solrClient;
+    private final SolrClient readClient;
+    private final SolrClient writeClient;
+    private final SolrBulkhead bulkhead;
+    private final Timer batchAddTime;
+    private final Timer commitTime;
+
+    @Value("${solr.search.mode:ngram}")
+    private String searchMode = "ngram";
+
+    public JobTitleRepository(@Qualifier("solrReadClient") SolrClient readClient,
+                              @Qualifier("solrWriteClient") SolrClient writeClient,
+                              SolrBulkhead bulkhead, MeterRegistry meterRegistry) {
+        this.readClient = readClient;
+        this.writeClient = writeClient;
+        this.bulkhead = bulkhead;
+        this.batchAddTime = indexTimer(meterRegistry, "add");
+        this.commitTime = indexTimer(meterRegistry, "commit");
     }
 
     /**
@@ -32,41 +68,188 @@ public class JobTitleRepository {
     public QueryResponse search(String query, String language, int start, int rows)
             throws SolrServerException, IOException {
 
-        var solrQuery = new SolrQuery();
+        var solrQuery = buildSearchQuery(query, language);
+        solrQuery.setStart(start);
+        solrQuery.setRows(rows);
 
-        // Simple wildcard search (no fuzzy for now)
-        String searchQuery = "*" + query.toLowerCase() + "*";
+        return bulkhead.call(() -> readClient.query(solrQuery));
+    }
 
-        // Build query based on language
-        if (language.equals("fr")) {
-            solrQuery.setQuery("title_fr:" + searchQuery + " OR description_fr:" + searchQuery);
-        } else if (language.equals("en")) {
-            solrQuery.setQuery("title_en:" + searchQuery + " OR description_en:" + searchQuery);
+    /**
+     * Cursor-paged search: the page after {@code cursorMark} ({@code "*"} for the first page).
+     * Solr resumes from the last sort values instead of collecting {@code start + rows} documents,
+     * so every page costs the same however deep it is. The next mark is in {@link QueryResponse#getNextCursorMark()}.
+     */
+    public QueryResponse searchAfter(String query, String language, String cursorMark, int rows)
+            throws SolrServerException, IOException {
+
+        var solrQuery = buildSearchQuery(query, language);
+        solrQuery.setRows(rows);
+        solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+
+        return bulkhead.call(() -> readClient.query(solrQuery));
+    }
+
+    /**
+     * Non-blocking {@link #search}: over HTTP/2 the query is sent with the client's async API and no thread
+     * waits for Solr. The future fails with {@link com.bet99.exercise.jobsearch.exception.SearchUnavailableException}
+     * when the bulkhead is full, and otherwise with the client's exception wrapped in a {@link CompletionException}.
+     */
+    public CompletableFuture<QueryResponse> searchAsync(String query, String language, int start, int rows) {
+        var solrQuery = buildSearchQuery(query, language);
+        solrQuery.setStart(start);
+        solrQuery.setRows(rows);
+
+        return bulkhead.callAsync(() -> queryAsync(solrQuery));
+    }
+
+    /**
+     * Non-blocking {@link #searchAfter}.
+     */
+    public CompletableFuture<QueryResponse> searchAfterAsync(String query, String language, String cursorMark, int rows) {
+        var solrQuery = buildSearchQuery(query, language);
+        solrQuery.setRows(rows);
+        solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+
+        return bulkhead.callAsync(() -> queryAsync(solrQuery));
+    }
+
+    private CompletableFuture<QueryResponse> queryAsync(SolrQuery solrQuery) {
+        if (!(readClient instanceof Http2SolrClient http2Client)) {
+            // e.g. the embedded server used by the load test, which has no async API
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return readClient.query(solrQuery);
+                } catch (SolrServerException | IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, BLOCKING_QUERY_EXECUTOR);
+        }
+
+        var started = System.nanoTime();
+        return http2Client.requestAsync(new QueryRequest(solrQuery), null)
+                .thenApply(namedList -> {
+                    var response = new QueryResponse(namedList, readClient);
+                    response.setElapsedTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                    return response;
+                });
+    }
+
+    /**
+     * One export page: every match in id order, without scoring, resumed from {@code cursorMark}.
+     * Pages wait for a bulk permit rather than being shed, so an export in progress is never cut short.
+     */
+    public QueryResponse exportPage(String query, String language, String cursorMark, int rows)
+            throws SolrServerException, IOException {
+
+        var solrQuery = buildSearchQuery(query, language);
+        solrQuery.setFields("*");
+        solrQuery.setSort("id", SolrQuery.ORDER.asc);
+        solrQuery.setRows(rows);
+        solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+
+        return bulkhead.callBulk(() -> readClient.query(solrQuery));
+    }
+
+    private SolrQuery buildSearchQuery(String query, String language) {
+        var solrQuery = new SolrQuery();
+
+        if (MODE_WILDCARD.equalsIgnoreCase(searchMode)) {
+            solrQuery.setQuery(buildWildcardQuery(query, language));
         } else {
-            solrQuery.setQuery(
-                    "title_en:" + searchQuery + " OR title_fr:" + searchQuery +
-                            " OR description_en:" + searchQuery + " OR description_fr:" + searchQuery
-            );
+            solrQuery.setQuery(buildNgramQuery(query, language));
+            solrQuery.set("q.op", "AND");
         }
 
+        solrQuery.addFilterQuery(EXCLUDE_METADATA);
         solrQuery.setFields("*", "score");
-        solrQuery.setStart(start);
-        solrQuery.setRows(rows);
+        // id tiebreaker: stable order across pages, and required by cursorMark
+        solrQuery.addSort("score", SolrQuery.ORDER.desc);
+        solrQuery.addSort("id", SolrQuery.ORDER.asc);
+        return solrQuery;
+    }
+
+    /**
+     * Typeahead through the /suggest handler's title_en/title_fr infix suggesters.
+     */
+    public List<String> suggest(String prefix, String language, int count) throws SolrServerException, IOException {
+        var solrQuery = new SolrQuery();
+        solrQuery.setRequestHandler("/suggest");
+        solrQuery.set("suggest.q", prefix);
+        solrQuery.set("suggest.dictionary", "fr".equals(language) ? "title_fr" : "title_en");
+        solrQuery.set("suggest.count", count);
+
+        var suggesterResponse = bulkhead.call(() -> readClient.query(solrQuery)).getSuggesterResponse();
+        if (suggesterResponse == null) {
+            return List.of();
+        }
+        return suggesterResponse.getSuggestedTerms().values().stream()
+                .flatMap(List::stream)
+                .distinct()
+                .limit(count)
+                .toList();
+    }
+
+    /**
+     * Term queries against the n-gram/edge-n-gram title copies plus the stemmed fields.
+     */
+    private String buildNgramQuery(String query, String language) {
+        var terms = QueryNormalizer.escapedTerms(query);
+        if (terms.isEmpty()) {
+            return "*:*";
+        }
+
+        var grouped = "(" + String.join(" ", terms) + ")";
+        return switch (language) {
+            case "fr" -> ngramClauses("fr", grouped);
+            case "en" -> ngramClauses("en", grouped);
+            default -> ngramClauses("en", grouped) + " OR " + ngramClauses("fr", grouped);
+        };
+    }
+
+    private String ngramClauses(String language, String terms) {
+        return "title_" + language + "_edge:" + terms + "^3"
+                + " OR title_" + language + ":" + terms + "^2"
+                + " OR title_" + language + "_ngram:" + terms
+                + " OR description_" + language + ":" + terms + "^0.5";
+    }
+
+    /**
+     * Legacy leading-wildcard query, kept for latency comparison (solr.search.mode=wildcard).
+     */
+    private String buildWildcardQuery(String query, String language) {
+        String searchQuery = "*" + ClientUtils.escapeQueryChars(QueryNormalizer.fold(query)) + "*";
 
-        return solrClient.query(solrQuery);
+        if (language.equals("fr")) {
+            return "title_fr:" + searchQuery + " OR description_fr:" + searchQuery;
+        } else if (language.equals("en")) {
+            return "title_en:" + searchQuery + " OR description_en:" + searchQuery;
+        }
+        return "title_en:" + searchQuery + " OR title_fr:" + searchQuery +
+                " OR description_en:" + searchQuery + " OR description_fr:" + searchQuery;
     }
 
     /**
      * Index a single job title document.
      */
     public void index(JobTitle jobTitle) throws SolrServerException, IOException {
-        solrClient.add(createDocument(jobTitle));
-        solrClient.commit();
+        writeClient.add(createDocument(jobTitle));
+        writeClient.commit();
     }
 
     public void indexBatch(Collection<JobTitle> jobTitles) throws SolrServerException, IOException {
         if (jobTitles.isEmpty()) return;
 
+        addBatch(jobTitles);
+        commit();
+    }
+
+    /**
+     * Send documents without committing; visibility comes from autoSoftCommit or a later {@link #commit()}.
+     */
+    public void addBatch(Collection<JobTitle> jobTitles) throws SolrServerException, IOException {
+        if (jobTitles.isEmpty()) return;
+
         int batchSize = Math.min(MAX_BATCH_SIZE, jobTitles.size());
         List<SolrInputDocument> docs;
 
@@ -80,11 +263,31 @@ public class JobTitleRepository {
             jobTitles.forEach(jt -> docs.add(createDocument(jt)));
         }
 
-        // Batch add with single commit
         for (int i = 0; i < docs.size(); i += batchSize) {
-            solrClient.add(docs.subList(i, Math.min(i + batchSize, docs.size())));
+            var sample = Timer.start();
+            writeClient.add(docs.subList(i, Math.min(i + batchSize, docs.size())));
+            sample.stop(batchAddTime);
         }
-        solrClient.commit();
+    }
+
+    /**
+     * Hard commit, used once at the end of a bulk load.
+     */
+    public void commit() throws SolrServerException, IOException {
+        var sample = Timer.start();
+        writeClient.commit();
+        sample.stop(commitTime);
+    }
+
+    /**
+     * "add" is the full round trip for one batch of documents, "commit" the Solr hard commit.
+     */
+    private static Timer indexTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("jobsearch.index.batch")
+                .description("Time per indexing batch operation")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     /**
@@ -112,7 +315,7 @@ public class JobTitleRepository {
     /**
      * Create Solr document from JobTitle record.
      */
-    private SolrInputDocument createDocument(JobTitle jobTitle) {
+    SolrInputDocument createDocument(JobTitle jobTitle) {
         var doc = new SolrInputDocument();
         doc.addField("id", jobTitle.id());
         doc.addField("noc_code", jobTitle.nocCode());
@@ -122,6 +325,7 @@ public class JobTitleRepository {
         doc.addField("description_fr", jobTitle.descriptionFr());
         doc.addField("category", jobTitle.category());
         doc.addField("skill_level", jobTitle.skillLevel());
+        doc.addField("content_hash", JobTitleIdentity.contentHash(jobTitle));
         return doc;
     }
 
@@ -133,12 +337,77 @@ public class JobTitleRepository {
         return value != null ? value.toString() : "";
     }
 
+    /**
+     * Id to content hash for every indexed document, paged with cursorMark so memory holds one page of documents.
+     * Documents indexed before content hashes existed map to an empty hash.
+     */
+    public Map<String, String> fetchContentHashes() throws SolrServerException, IOException {
+        var hashes = new HashMap<String, String>();
+        var solrQuery = new SolrQuery("*:*");
+        solrQuery.addFilterQuery(EXCLUDE_METADATA);
+        solrQuery.setFields("id", "content_hash");
+        solrQuery.setRows(HASH_PAGE_SIZE);
+        solrQuery.setSort("id", SolrQuery.ORDER.asc);
+
+        var cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        while (true) {
+            solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            var response = readClient.query(solrQuery);
+            for (var doc : response.getResults()) {
+                hashes.put(getField(doc, "id"), getField(doc, "content_hash"));
+            }
+
+            var nextCursorMark = response.getNextCursorMark();
+            if (nextCursorMark == null || nextCursorMark.equals(cursorMark)) {
+                return hashes;
+            }
+            cursorMark = nextCursorMark;
+        }
+    }
+
+    /**
+     * Fingerprint of the source data the index was last fully loaded from, kept in a metadata document
+     * that searches and delta diffs filter out.
+     */
+    public Optional<String> fetchSourceFingerprint() throws SolrServerException, IOException {
+        var solrQuery = new SolrQuery("id:" + METADATA_ID);
+        solrQuery.setFields("content_hash");
+        solrQuery.setRows(1);
+
+        var results = readClient.query(solrQuery).getResults();
+        if (results == null || results.isEmpty()) {
+            return Optional.empty();
+        }
+        var fingerprint = getField(results.getFirst(), "content_hash");
+        return fingerprint.isEmpty() ? Optional.empty() : Optional.of(fingerprint);
+    }
+
+    /**
+     * Store the source fingerprint and commit.
+     */
+    public void saveSourceFingerprint(String fingerprint) throws SolrServerException, IOException {
+        var doc = new SolrInputDocument();
+        doc.addField("id", METADATA_ID);
+        doc.addField("noc_code", METADATA_ID);
+        doc.addField("content_hash", fingerprint);
+        writeClient.add(doc);
+        writeClient.commit();
+    }
+
+    /**
+     * Delete documents by id without committing.
+     */
+    public void deleteByIds(Collection<String> ids) throws SolrServerException, IOException {
+        if (ids.isEmpty()) return;
+        writeClient.deleteById(new ArrayList<>(ids));
+    }
+
     /**
      * Delete all documents efficiently.
      */
     public void deleteAll() throws SolrServerException, IOException {
-        solrClient.deleteByQuery("*:*");
-        solrClient.commit();
+        writeClient.deleteByQuery("*:*");
+        writeClient.commit();
     }
 
 }
@@ -0,0 +1,146 @@
+package com.bet99.exercise.jobsearch.repository;
+
+import com.bet99.exercise.jobsearch.exception.SearchUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps concurrent interactive Solr queries. With virtual-thread request handling nothing else bounds
+ * how many requests pile onto a slow Solr, so a call waits at most {@code max-wait-ms} for a permit
+ * and is then shed with {@link SearchUnavailableException} instead of queueing behind the backlog.
+ * <p>
+ * Exports and batch searches use a separate, smaller pool of {@code bulk-max-concurrent} permits and wait
+ * for one however long it takes: shedding a page mid-export would truncate a response that has already
+ * answered 200, and shedding one miss would fail a whole batch.
+ */
+@Component
+public class SolrBulkhead {
+
+    private final MeterRegistry meterRegistry;
+    private Counter rejected;
+    private Semaphore permits;
+    private Semaphore bulkPermits;
+    private final ThreadLocal<Boolean> bulkScope = new ThreadLocal<>();
+
+    @Value("${solr.bulkhead.max-concurrent:64}")
+    private int maxConcurrent = 64;
+
+    @Value("${solr.bulkhead.max-wait-ms:50}")
+    private long maxWaitMillis = 50;
+
+    @Value("${solr.bulkhead.bulk-max-concurrent:8}")
+    private int bulkMaxConcurrent = 8;
+
+    public SolrBulkhead(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(maxConcurrent);
+        rejected = Counter.builder("solr.bulkhead.rejected")
+                .description("Solr queries shed because the bulkhead was full")
+                .register(meterRegistry);
+        Gauge.builder("solr.bulkhead.active", permits, p -> maxConcurrent - p.availablePermits())
+                .description("Solr queries in flight through the bulkhead")
+                .register(meterRegistry);
+        bulkPermits = new Semaphore(bulkMaxConcurrent);
+        Gauge.builder("solr.bulkhead.bulk.active", bulkPermits, p -> bulkMaxConcurrent - p.availablePermits())
+                .description("Export and batch Solr queries in flight through the bulkhead")
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    public interface SolrCall<T> {
+        T call() throws SolrServerException, IOException;
+    }
+
+    /**
+     * Interactive call: shed after {@code max-wait-ms} without a permit. Inside {@link #bulk} it is a bulk call.
+     */
+    public <T> T call(SolrCall<T> call) throws SolrServerException, IOException {
+        if (bulkScope.get() != null) {
+            return callBulk(call);
+        }
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new SearchUnavailableException("Search is overloaded, retry shortly", null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SearchUnavailableException("Interrupted waiting for a Solr permit", e);
+        }
+
+        try {
+            return call.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Bulk call: waits for a bulk permit instead of being shed.
+     */
+    public <T> T callBulk(SolrCall<T> call) throws SolrServerException, IOException {
+        try {
+            bulkPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SearchUnavailableException("Interrupted waiting for a Solr permit", e);
+        }
+
+        try {
+            return call.call();
+        } finally {
+            bulkPermits.release();
+        }
+    }
+
+    /**
+     * Run {@code work} with every {@link #call} it makes on this thread going through {@link #callBulk}.
+     */
+    public <T> T bulk(Supplier<T> work) {
+        if (bulkScope.get() != null) {
+            return work.get();
+        }
+        bulkScope.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            bulkScope.remove();
+        }
+    }
+
+    /**
+     * Async calls never wait for a permit: a full bulkhead fails the future at once,
+     * and the permit is held until the returned future completes.
+     */
+    public <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call) {
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(
+                    new SearchUnavailableException("Search is overloaded, retry shortly", null));
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            permits.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, error) -> permits.release());
+    }
+}
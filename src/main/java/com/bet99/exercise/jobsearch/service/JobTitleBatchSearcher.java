@@ -0,0 +1,148 @@
+package com.bet99.exercise.jobsearch.service;
+
+import com.bet99.exercise.jobsearch.cache.IndexGeneration;
+import com.bet99.exercise.jobsearch.cache.TwoTierCache;
+import com.bet99.exercise.jobsearch.dto.BatchSearchResponse;
+import com.bet99.exercise.jobsearch.dto.SearchRequest;
+import com.bet99.exercise.jobsearch.dto.SearchResponse;
+import com.bet99.exercise.jobsearch.exception.SearchException;
+import com.bet99.exercise.jobsearch.exception.SearchUnavailableException;
+import com.bet99.exercise.jobsearch.query.QueryNormalizer;
+import com.bet99.exercise.jobsearch.repository.SolrBulkhead;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Answers many searches in one call, results in request order.
+ * Entries are shared with {@link JobTitleService#search}: cached results are read together, in one Redis MGET
+ * on the two-tier cache, and each distinct miss is searched once, on virtual threads, at most
+ * {@code search.batch.max-concurrency} at a time per batch, then cached for later callers.
+ * Misses wait for the Solr bulkhead's bulk permits rather than being shed, so one busy moment does not
+ * fail the whole batch.
+ */
+@Component
+public class JobTitleBatchSearcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobTitleBatchSearcher.class);
+    private static final String CACHE_NAME = "searchResults";
+
+    private final JobTitleService service;
+    private final CacheManager cacheManager;
+    private final IndexGeneration indexGeneration;
+    private final QueryNormalizer queryNormalizer;
+    private final SolrBulkhead bulkhead;
+
+    @Value("${search.batch.max-concurrency:8}")
+    private int maxConcurrency = 8;
+
+    public JobTitleBatchSearcher(JobTitleService service, CacheManager cacheManager, IndexGeneration indexGeneration,
+                                 QueryNormalizer queryNormalizer, SolrBulkhead bulkhead) {
+        this.service = service;
+        this.cacheManager = cacheManager;
+        this.indexGeneration = indexGeneration;
+        this.queryNormalizer = queryNormalizer;
+        this.bulkhead = bulkhead;
+    }
+
+    public BatchSearchResponse search(List<SearchRequest> requests) {
+        var start = System.currentTimeMillis();
+        var cache = cacheManager.getCache(CACHE_NAME);
+        // Same key as the @Cacheable on JobTitleService.search
+        var generation = indexGeneration.current();
+        var keys = requests.stream()
+                .map(request -> generation + "_" + queryNormalizer.cacheKey(request))
+                .toList();
+
+        var results = cached(cache, keys);
+        var misses = new LinkedHashMap<String, SearchRequest>();
+        int cacheHits = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            if (results.get(i) != null) {
+                cacheHits++;
+            } else {
+                misses.putIfAbsent(keys.get(i), requests.get(i));
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            var searched = searchAll(misses, cache);
+            for (int i = 0; i < requests.size(); i++) {
+                if (results.get(i) == null) {
+                    results.set(i, searched.get(keys.get(i)));
+                }
+            }
+        }
+
+        logger.debug("Batch search: {} searches, {} cache hits, {} Solr searches in {}ms",
+                requests.size(), cacheHits, misses.size(), System.currentTimeMillis() - start);
+        return new BatchSearchResponse(results, cacheHits, misses.size());
+    }
+
+    private static List<SearchResponse> cached(Cache cache, List<String> keys) {
+        var results = new ArrayList<SearchResponse>(keys.size());
+        if (cache instanceof TwoTierCache twoTierCache) {
+            for (var value : twoTierCache.getAll(keys)) {
+                results.add(value instanceof SearchResponse response ? response : null);
+            }
+        } else {
+            for (var key : keys) {
+                results.add(cache != null ? cache.get(key, SearchResponse.class) : null);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Search each miss concurrently; the first failure cancels the rest and fails the batch.
+     */
+    private Map<String, SearchResponse> searchAll(Map<String, SearchRequest> misses, Cache cache) {
+        var permits = new Semaphore(maxConcurrency);
+        var pending = new LinkedHashMap<String, Future<SearchResponse>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            misses.forEach((key, request) -> pending.put(key, executor.submit(() -> {
+                permits.acquire();
+                try {
+                    var response = bulkhead.bulk(() -> service.searchUncached(request));
+                    if (cache != null) {
+                        cache.put(key, response);
+                    }
+                    return response;
+                } finally {
+                    permits.release();
+                }
+            })));
+
+            var searched = new HashMap<String, SearchResponse>();
+            try {
+                for (var entry : pending.entrySet()) {
+                    searched.put(entry.getKey(), entry.getValue().get());
+                }
+            } catch (ExecutionException e) {
+                pending.values().forEach(future -> future.cancel(true));
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new SearchException("Batch search failed", e.getCause());
+            } catch (InterruptedException e) {
+                pending.values().forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new SearchUnavailableException("Batch search interrupted", e);
+            }
+            return searched;
+        }
+    }
+}
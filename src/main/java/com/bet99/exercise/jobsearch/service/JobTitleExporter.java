@@ -0,0 +1,186 @@
+package com.bet99.exercise.jobsearch.service;
+
+import com.bet99.exercise.jobsearch.exception.SearchException;
+import com.bet99.exercise.jobsearch.model.JobTitle;
+import com.bet99.exercise.jobsearch.repository.JobTitleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Streams every job title matching a query to an output stream as JSON lines or CSV.
+ * Results are fetched with cursorMark one page at a time and written before the next page is requested,
+ * so memory stays at one page however large the result set is.
+ * <p>
+ * The status line has gone out by the time a later page fails, so the failure is written into the body as a
+ * last line a client cannot mistake for data, and the exception is rethrown so the connection is aborted.
+ */
+@Component
+public class JobTitleExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobTitleExporter.class);
+    private static final String CSV_HEADER =
+            "id,noc_code,title_en,title_fr,description_en,description_fr,category,skill_level\n";
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Optional<Format> fromName(String name) {
+            try {
+                return Optional.of(valueOf(name.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private final JobTitleRepository repository;
+    private final ObjectWriter jobTitleWriter;
+
+    @Value("${export.page-size:1000}")
+    private int pageSize = 1000;
+
+    public JobTitleExporter(JobTitleRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.jobTitleWriter = objectMapper.writerFor(JobTitle.class);
+    }
+
+    /**
+     * Write all matches and return how many were exported. The stream is flushed after every page.
+     */
+    public long export(String query, String language, Format format, OutputStream output) throws IOException {
+        var startTime = System.currentTimeMillis();
+        var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        long exported = 0;
+        var cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        while (true) {
+            QueryResponse response;
+            try {
+                response = fetchPage(query, language, cursorMark);
+            } catch (SearchException e) {
+                if (exported > 0) {
+                    writeErrorMarker(writer, format, exported);
+                }
+                throw e;
+            }
+            for (var doc : response.getResults()) {
+                var jobTitle = repository.documentToJobTitle(doc);
+                if (format == Format.CSV) {
+                    writeCsv(writer, jobTitle);
+                } else {
+                    writer.write(jobTitleWriter.writeValueAsString(jobTitle));
+                    writer.write('\n');
+                }
+                exported++;
+            }
+            writer.flush();
+
+            var nextCursorMark = response.getNextCursorMark();
+            if (nextCursorMark == null || nextCursorMark.equals(cursorMark)) {
+                break;
+            }
+            cursorMark = nextCursorMark;
+        }
+
+        logger.info("Exported {} job titles as {} for query '{}' in {}ms",
+                exported, format, query, System.currentTimeMillis() - startTime);
+        return exported;
+    }
+
+    private QueryResponse fetchPage(String query, String language, String cursorMark)
+            throws IOException {
+        try {
+            return repository.exportPage(query, language, cursorMark, pageSize);
+        } catch (SolrServerException | SolrException e) {
+            logger.error("Export failed: {}", e.getMessage(), e);
+            throw new SearchException("Failed to export job titles", e);
+        }
+    }
+
+    /**
+     * NDJSON gets an object with an {@code error} field; CSV a row starting with {@code #ERROR}.
+     */
+    private static void writeErrorMarker(Writer writer, Format format, long exported) throws IOException {
+        var message = "Export failed after " + exported + " job titles; the data above is incomplete";
+        if (format == Format.CSV) {
+            writer.write("#ERROR," + message + '\n');
+        } else {
+            writer.write("{\"error\":\"" + message + "\"}\n");
+        }
+        writer.flush();
+    }
+
+    private static void writeCsv(Writer writer, JobTitle jobTitle) throws IOException {
+        writeCsvField(writer, jobTitle.id());
+        writer.write(',');
+        writeCsvField(writer, jobTitle.nocCode());
+        writer.write(',');
+        writeCsvField(writer, jobTitle.titleEn());
+        writer.write(',');
+        writeCsvField(writer, jobTitle.titleFr());
+        writer.write(',');
+        writeCsvField(writer, jobTitle.descriptionEn());
+        writer.write(',');
+        writeCsvField(writer, jobTitle.descriptionFr());
+        writer.write(',');
+        writeCsvField(writer, jobTitle.category());
+        writer.write(',');
+        writeCsvField(writer, jobTitle.skillLevel());
+        writer.write('\n');
+    }
+
+    /**
+     * RFC 4180: quote fields containing a delimiter, quote or line break, doubling embedded quotes.
+     */
+    static void writeCsvField(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
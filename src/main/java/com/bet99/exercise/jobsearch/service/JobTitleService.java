@@ -1,20 +1,38 @@
 package com.bet99.exercise.jobsearch.service;
 
+import com.bet99.exercise.jobsearch.cache.IndexGeneration;
+import com.bet99.exercise.jobsearch.cache.JobTitleStore;
 import com.bet99.exercise.jobsearch.dto.SearchRequest;
 import com.bet99.exercise.jobsearch.dto.SearchResponse;
 import com.bet99.exercise.jobsearch.exception.IndexingException;
+import com.bet99.exercise.jobsearch.exception.InvalidCursorException;
+import com.bet99.exercise.jobsearch.exception.JobSearchException;
 import com.bet99.exercise.jobsearch.exception.SearchException;
+import com.bet99.exercise.jobsearch.exception.SearchUnavailableException;
 import com.bet99.exercise.jobsearch.model.JobTitle;
+import com.bet99.exercise.jobsearch.query.QueryNormalizer;
+import com.bet99.exercise.jobsearch.query.QueryStatsRecorder;
 import com.bet99.exercise.jobsearch.repository.JobTitleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntConsumer;
 
 @Service
 public class JobTitleService {
@@ -22,48 +40,175 @@ public class JobTitleService {
     private static final Logger logger = LoggerFactory.getLogger(JobTitleService.class);
 
     private final JobTitleRepository repository;
+    private final IndexGeneration indexGeneration;
+    private final QueryNormalizer queryNormalizer;
+    private final JobTitleStore jobTitleStore;
+    private final QueryStatsRecorder queryStats;
 
-    public JobTitleService(JobTitleRepository repository) {
+    private final Timer solrQueryTime;
+    private final Timer solrNetworkTime;
+    private final Timer mappingTime;
+
+    public JobTitleService(JobTitleRepository repository, IndexGeneration indexGeneration,
+                           QueryNormalizer queryNormalizer, JobTitleStore jobTitleStore,
+                           QueryStatsRecorder queryStats, MeterRegistry meterRegistry) {
         this.repository = repository;
+        this.indexGeneration = indexGeneration;
+        this.queryNormalizer = queryNormalizer;
+        this.jobTitleStore = jobTitleStore;
+        this.queryStats = queryStats;
+        this.solrQueryTime = phaseTimer(meterRegistry, "solr_qtime");
+        this.solrNetworkTime = phaseTimer(meterRegistry, "solr_network");
+        this.mappingTime = phaseTimer(meterRegistry, "mapping");
     }
 
+    /**
+     * Cache keys lead with the index generation, so a bump invalidates every entry at once,
+     * followed by a hash of the normalized request so equivalent queries share an entry.
+     * {@code sync} makes concurrent misses for the same key share a single Solr call.
+     */
     @Cacheable(
             value = "searchResults",
-            key = "#request.query() + '_' + #request.language() + '_' + #request.page() + '_' + #request.size()"
+            key = "@indexGeneration.current() + '_' + @queryNormalizer.cacheKey(#request)",
+            sync = true
     )
     public SearchResponse search(SearchRequest request) {
+        return searchUncached(request);
+    }
+
+    /**
+     * {@link #search(SearchRequest)} straight against Solr, for callers that read and fill the cache themselves.
+     */
+    public SearchResponse searchUncached(SearchRequest request) {
+        // Solr sees the same normalized request the cache key was built from
+        request = queryNormalizer.normalize(request);
         try {
             logger.debug("Executing search: query={}, language={}, page={}, size={}",
                     request.query(), request.language(), request.page(), request.size());
 
-            var response = repository.search(
-                    request.query(),
-                    request.language(),
-                    request.getOffset(),
-                    request.size()
-            );
+            QueryResponse response;
+            if (request.isCursorPaged()) {
+                response = repository.searchAfter(request.query(), request.language(), request.cursor(), request.size());
+            } else {
+                response = repository.search(request.query(), request.language(), request.getOffset(), request.size());
+            }
+            return toSearchResponse(request, response, queryStats::noteSolrQTime);
+
+        } catch (SolrServerException | IOException | SolrException e) {
+            throw searchFailure(request, e);
+        }
+    }
+
+    /**
+     * Non-blocking {@link #search(SearchRequest)} sharing its cache entries. A hit completes without a Solr call;
+     * a miss completes on the Solr client's thread, so Solr's QTime is reported to {@code solrQTime}
+     * rather than through the caller's thread.
+     */
+    @Cacheable(
+            value = "searchResults",
+            key = "@indexGeneration.current() + '_' + @queryNormalizer.cacheKey(#request)",
+            sync = true
+    )
+    public CompletableFuture<SearchResponse> searchAsync(SearchRequest request, IntConsumer solrQTime) {
+        var normalized = queryNormalizer.normalize(request);
+        logger.debug("Executing async search: query={}, language={}, page={}, size={}",
+                normalized.query(), normalized.language(), normalized.page(), normalized.size());
+
+        CompletableFuture<QueryResponse> response = normalized.isCursorPaged()
+                ? repository.searchAfterAsync(normalized.query(), normalized.language(), normalized.cursor(), normalized.size())
+                : repository.searchAsync(normalized.query(), normalized.language(), normalized.getOffset(), normalized.size());
+
+        return response
+                .thenApply(queryResponse -> toSearchResponse(normalized, queryResponse, solrQTime))
+                .exceptionally(e -> {
+                    throw searchFailure(normalized, e instanceof CompletionException && e.getCause() != null
+                            ? e.getCause() : e);
+                });
+    }
 
-            var docs = response.getResults();
-            var jobTitles = repository.documentsToJobTitles(docs);
-            var totalCount = docs.getNumFound();
+    private SearchResponse toSearchResponse(SearchRequest request, QueryResponse response, IntConsumer solrQTime) {
+        recordSolrTimings(response, solrQTime);
 
-            logger.info("Search completed: query='{}', results={}", request.query(), totalCount);
+        var docs = response.getResults();
+        var jobTitles = mappingTime.record(() -> repository.documentsToJobTitles(docs));
 
-            return SearchResponse.of(jobTitles, totalCount, request.page(), request.size());
+        logger.debug("Search completed: query='{}', results={}", request.query(), docs.getNumFound());
 
-        } catch (SolrServerException | IOException e) {
-            logger.error("Search failed: {}", e.getMessage(), e);
-            throw new SearchException("Failed to search job titles", e);
+        if (!request.isCursorPaged()) {
+            return SearchResponse.of(jobTitles, docs.getNumFound(), request.page(), request.size());
+        }
+
+        var nextCursor = response.getNextCursorMark();
+        // Solr hands back the same mark once the results are exhausted
+        if (nextCursor == null || nextCursor.equals(request.cursor())) {
+            nextCursor = null;
         }
+        return SearchResponse.of(jobTitles, docs.getNumFound(), request.size(), nextCursor);
     }
 
     /**
-     * Index a single job title and evict relevant caches.
+     * The query client gives up after {@code solr.search.timeout-ms}; that is overload, not a failure.
+     */
+    private RuntimeException searchFailure(SearchRequest request, Throwable e) {
+        if (e instanceof JobSearchException searchException) {
+            return searchException;
+        }
+        if (request.isCursorPaged() && isInvalidCursor(e)) {
+            return new InvalidCursorException("Invalid search cursor", e);
+        }
+        if (isTimeout(e)) {
+            logger.warn("Search timed out: query='{}': {}", request.query(), e.getMessage());
+            return new SearchUnavailableException("Search timed out, retry shortly", e);
+        }
+        logger.error("Search failed: {}", e.getMessage(), e);
+        return new SearchException("Failed to search job titles", e);
+    }
+
+    /**
+     * Solr rejects a malformed or foreign cursor mark with a 400 naming the {@code cursorMark} parameter.
+     */
+    private static boolean isInvalidCursor(Throwable e) {
+        return e instanceof SolrException solrException
+                && solrException.code() == SolrException.ErrorCode.BAD_REQUEST.code
+                && solrException.getMessage() != null
+                && solrException.getMessage().contains(CursorMarkParams.CURSOR_MARK_PARAM);
+    }
+
+    /**
+     * Split a Solr round trip into server-side query time (QTime) and the rest: network, queueing and parsing.
+     */
+    private void recordSolrTimings(QueryResponse response, IntConsumer solrQTime) {
+        var qTime = response.getQTime();
+        solrQTime.accept(qTime);
+        solrQueryTime.record(qTime, TimeUnit.MILLISECONDS);
+        solrNetworkTime.record(Math.max(0, response.getElapsedTime() - qTime), TimeUnit.MILLISECONDS);
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        for (var cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Timer phaseTimer(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder("jobsearch.search.phase")
+                .description("Uncached search time by phase")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Index a single job title and move to a new cache generation.
      */
-    @CacheEvict(value = "searchResults", allEntries = true)
     public void indexJobTitle(JobTitle jobTitle) {
         try {
             repository.index(jobTitle);
+            jobTitleStore.put(jobTitle);
+            indexGeneration.bump();
             logger.info("Indexed job title: id={}, nocCode={}", jobTitle.id(), jobTitle.nocCode());
         } catch (SolrServerException | IOException e) {
             logger.error("Indexing failed for job title: {}", jobTitle.id(), e);
@@ -71,8 +216,9 @@ public class JobTitleService {
         }
     }
 
-
-    @CacheEvict(value = "searchResults", allEntries = true)
+    /**
+     * Index a batch of job titles and move to a new cache generation.
+     */
     public void indexJobTitles(Collection<JobTitle> jobTitles) {
         if (jobTitles.isEmpty()) {
             logger.warn("Attempted to index empty collection");
@@ -82,6 +228,8 @@ public class JobTitleService {
         try {
             var startTime = System.currentTimeMillis();
             repository.indexBatch(jobTitles);
+            jobTitleStore.putAll(jobTitles);
+            indexGeneration.bump();
             var duration = System.currentTimeMillis() - startTime;
 
             logger.info("Batch indexed {} job titles in {}ms ({} docs/sec)",
@@ -93,13 +241,97 @@ public class JobTitleService {
         }
     }
 
+    /**
+     * Index one batch of a larger load without committing or touching the cache generation;
+     * the loader calls {@link #completeLoad()} once when every batch is in.
+     */
+    public void indexJobTitleBatch(Collection<JobTitle> jobTitles) {
+        if (jobTitles.isEmpty()) {
+            logger.warn("Attempted to index empty collection");
+            return;
+        }
+
+        try {
+            repository.addBatch(jobTitles);
+            jobTitleStore.putAll(jobTitles);
+        } catch (SolrServerException | IOException e) {
+            logger.error("Batch indexing failed: {}", e.getMessage(), e);
+            throw new IndexingException("Failed to batch index job titles", e);
+        }
+    }
+
+    /**
+     * Delete documents as part of a larger load; committed by {@link #completeLoad()}.
+     */
+    public void deleteJobTitleBatch(Collection<String> ids) {
+        try {
+            repository.deleteByIds(ids);
+            jobTitleStore.removeAll(ids);
+        } catch (SolrServerException | IOException e) {
+            logger.error("Batch delete failed: {}", e.getMessage(), e);
+            throw new IndexingException("Failed to delete job titles", e);
+        }
+    }
+
+    /**
+     * Id to content hash of everything currently indexed, for delta loads.
+     */
+    public Map<String, String> indexedContentHashes() {
+        try {
+            return repository.fetchContentHashes();
+        } catch (SolrServerException | IOException e) {
+            logger.error("Failed to read indexed content hashes: {}", e.getMessage(), e);
+            throw new IndexingException("Failed to read indexed content hashes", e);
+        }
+    }
+
+    /**
+     * Fingerprint of the source data behind the current index, if one was recorded.
+     */
+    public Optional<String> indexSourceFingerprint() {
+        try {
+            return repository.fetchSourceFingerprint();
+        } catch (SolrServerException | IOException e) {
+            logger.error("Failed to read index source fingerprint: {}", e.getMessage(), e);
+            throw new IndexingException("Failed to read index source fingerprint", e);
+        }
+    }
+
+    /**
+     * Record that the index now reflects the given source data.
+     */
+    public void recordSourceFingerprint(String fingerprint) {
+        try {
+            repository.saveSourceFingerprint(fingerprint);
+            logger.info("Recorded index source fingerprint {}", fingerprint);
+        } catch (SolrServerException | IOException e) {
+            logger.error("Failed to record index source fingerprint: {}", e.getMessage(), e);
+            throw new IndexingException("Failed to record index source fingerprint", e);
+        }
+    }
+
+    /**
+     * Finish a multi-batch load: commit once and invalidate cached searches once for the whole load.
+     */
+    public void completeLoad() {
+        try {
+            repository.commit();
+            var generation = indexGeneration.bump();
+            logger.info("Load committed, search cache generation is now {}", generation);
+        } catch (SolrServerException | IOException e) {
+            logger.error("Commit failed: {}", e.getMessage(), e);
+            throw new IndexingException("Failed to commit loaded job titles", e);
+        }
+    }
+
     /**
      * Clear all indexed data and caches.
      */
-    @CacheEvict(value = "searchResults", allEntries = true)
     public void clearIndex() {
         try {
             repository.deleteAll();
+            jobTitleStore.clear();
+            indexGeneration.bump();
             logger.info("Cleared all job titles from index and cache");
         } catch (SolrServerException | IOException e) {
             logger.error("Failed to clear index: {}", e.getMessage(), e);
@@ -0,0 +1,79 @@
+package com.bet99.exercise.jobsearch.suggest;
+
+import com.bet99.exercise.jobsearch.dto.SuggestResponse;
+import com.bet99.exercise.jobsearch.exception.SearchException;
+import com.bet99.exercise.jobsearch.exception.SearchUnavailableException;
+import com.bet99.exercise.jobsearch.model.JobTitle;
+import com.bet99.exercise.jobsearch.repository.JobTitleRepository;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Typeahead suggestions.
+ * By default they come from in-memory prefix indexes built from the loaded titles, with no Solr round trip;
+ * Solr's /suggest handler answers until those are built, and always when {@code suggest.source=solr}.
+ */
+@Service
+public class SuggestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestService.class);
+
+    private static final String SOURCE_LOCAL = "local";
+    private static final String SOURCE_SOLR = "solr";
+    private static final int MAX_SUGGESTIONS = 20;
+
+    private final JobTitleRepository repository;
+    private volatile Indexes indexes = new Indexes(TitlePrefixIndex.empty(), TitlePrefixIndex.empty());
+
+    @Value("${suggest.source:local}")
+    private String source = SOURCE_LOCAL;
+
+    public SuggestService(JobTitleRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Replace the local indexes; lookups in progress finish against the previous ones.
+     */
+    public void rebuild(Collection<JobTitle> jobTitles) {
+        var start = System.currentTimeMillis();
+        var rebuilt = new Indexes(
+                TitlePrefixIndex.build(jobTitles.stream().map(JobTitle::titleEn).toList()),
+                TitlePrefixIndex.build(jobTitles.stream().map(JobTitle::titleFr).toList()));
+        indexes = rebuilt;
+        logger.info("Built suggestion indexes ({} en, {} fr titles) in {}ms",
+                rebuilt.en().size(), rebuilt.fr().size(), System.currentTimeMillis() - start);
+    }
+
+    public SuggestResponse suggest(String query, String language, int size) {
+        int count = Math.clamp(size, 1, MAX_SUGGESTIONS);
+        var local = "fr".equals(language) ? indexes.fr() : indexes.en();
+
+        if (SOURCE_SOLR.equalsIgnoreCase(source) || local.isEmpty()) {
+            try {
+                return new SuggestResponse(query, repository.suggest(query, language, count), SOURCE_SOLR);
+            } catch (SearchUnavailableException e) {
+                if (local.isEmpty()) {
+                    throw e;
+                }
+                logger.warn("Solr suggest shed, answering from the local index: {}", e.getMessage());
+            } catch (SolrServerException | IOException | SolrException e) {
+                if (local.isEmpty()) {
+                    logger.error("Suggest failed: {}", e.getMessage(), e);
+                    throw new SearchException("Suggest failed", e);
+                }
+                logger.warn("Solr suggest failed, answering from the local index: {}", e.getMessage());
+            }
+        }
+        return new SuggestResponse(query, local.lookup(query, count), SOURCE_LOCAL);
+    }
+
+    private record Indexes(TitlePrefixIndex en, TitlePrefixIndex fr) {}
+}
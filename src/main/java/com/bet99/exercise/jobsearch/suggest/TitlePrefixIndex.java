@@ -0,0 +1,174 @@
+package com.bet99.exercise.jobsearch.suggest;
+
+import com.bet99.exercise.jobsearch.query.QueryNormalizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Immutable in-memory prefix index over job titles, matching the start of any word in a title.
+ * Instead of a node-per-character trie, every word start is one packed {@code long} (title index, offset)
+ * in an array sorted by the text from that offset; a lookup is a binary search plus a scan of every match,
+ * ranked as it goes into a buffer of {@code limit} entries, with no other allocation beyond the result list.
+ * Matching ignores case and accents. Titles that start with the prefix rank before mid-title matches,
+ * shorter titles before longer ones.
+ */
+public final class TitlePrefixIndex {
+
+    private static final TitlePrefixIndex EMPTY = new TitlePrefixIndex(new String[0], new String[0], new long[0]);
+
+    private final String[] titles;      // display titles, shortest first
+    private final String[] normalized;  // normalized titles, same order
+    private final long[] entries;       // (title index << 32 | word offset), sorted by suffix
+
+    private TitlePrefixIndex(String[] titles, String[] normalized, long[] entries) {
+        this.titles = titles;
+        this.normalized = normalized;
+        this.entries = entries;
+    }
+
+    public static TitlePrefixIndex empty() {
+        return EMPTY;
+    }
+
+    public static TitlePrefixIndex build(Collection<String> source) {
+        var distinct = new LinkedHashSet<String>(source.size() * 2);
+        for (var title : source) {
+            if (title != null && !title.isBlank()) {
+                distinct.add(title.strip());
+            }
+        }
+
+        var titles = distinct.toArray(String[]::new);
+        Arrays.sort(titles, Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()));
+
+        var normalized = new String[titles.length];
+        var entries = new ArrayList<Long>(titles.length * 3);
+        for (int i = 0; i < titles.length; i++) {
+            var text = normalize(titles[i]);
+            normalized[i] = text;
+            for (int offset = 0; offset < text.length(); offset++) {
+                if (Character.isLetterOrDigit(text.charAt(offset))
+                        && (offset == 0 || !Character.isLetterOrDigit(text.charAt(offset - 1)))) {
+                    entries.add(((long) i << 32) | offset);
+                }
+            }
+        }
+
+        entries.sort((a, b) -> compareSuffixes(normalized, a, b));
+        return new TitlePrefixIndex(titles, normalized,
+                entries.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    public int size() {
+        return titles.length;
+    }
+
+    public boolean isEmpty() {
+        return titles.length == 0;
+    }
+
+    /**
+     * Up to {@code limit} titles with a word starting with {@code prefix}.
+     */
+    public List<String> lookup(String prefix, int limit) {
+        var key = prefix == null ? "" : normalize(prefix);
+        if (key.isEmpty() || limit <= 0 || entries.length == 0) {
+            return List.of();
+        }
+
+        // Rank: title index, plus a penalty for matches after the first word
+        var best = new long[Math.min(limit, titles.length)];
+        int count = 0;
+        for (int i = lowerBound(key); i < entries.length; i++) {
+            int title = (int) (entries[i] >>> 32);
+            int offset = (int) entries[i];
+            if (!normalized[title].startsWith(key, offset)) {
+                break;
+            }
+            count = offer(best, count, offset == 0 ? title : (long) titles.length + title, title);
+        }
+
+        var results = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(titles[(int) (best[i] % titles.length)]);
+        }
+        return results;
+    }
+
+    /**
+     * Add {@code rank} to the ascending {@code best[0, count)}, which holds the best rank of at most
+     * {@code best.length} distinct titles, and return the new count. {@code limit} is small, so a sorted
+     * array with linear probing beats a heap plus a set for the per-title check.
+     */
+    private int offer(long[] best, int count, long rank, int title) {
+        if (count == best.length && rank >= best[count - 1]) {
+            return count;
+        }
+        for (int j = 0; j < count; j++) {
+            if (best[j] % titles.length == title) {
+                if (rank >= best[j]) {
+                    return count;
+                }
+                System.arraycopy(best, j + 1, best, j, count - j - 1);
+                count--;
+                break;
+            }
+        }
+        if (count == best.length) {
+            count--;
+        }
+        int at = count;
+        while (at > 0 && best[at - 1] > rank) {
+            best[at] = best[at - 1];
+            at--;
+        }
+        best[at] = rank;
+        return count + 1;
+    }
+
+    /**
+     * First entry whose suffix is not less than the key.
+     */
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            var text = normalized[(int) (entries[mid] >>> 32)];
+            int offset = (int) entries[mid];
+            if (compare(text, offset, key, 0) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compareSuffixes(String[] normalized, long a, long b) {
+        return compare(normalized[(int) (a >>> 32)], (int) a, normalized[(int) (b >>> 32)], (int) b);
+    }
+
+    /**
+     * Lexicographic comparison of two suffixes without creating substrings.
+     */
+    private static int compare(String textA, int offsetA, String textB, int offsetB) {
+        int length = Math.min(textA.length() - offsetA, textB.length() - offsetB);
+        for (int i = 0; i < length; i++) {
+            int diff = textA.charAt(offsetA + i) - textB.charAt(offsetB + i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return (textA.length() - offsetA) - (textB.length() - offsetB);
+    }
+
+    static String normalize(String text) {
+        return QueryNormalizer.fold(text);
+    }
+}
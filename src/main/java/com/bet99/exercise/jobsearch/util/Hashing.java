@@ -0,0 +1,32 @@
+package com.bet99.exercise.jobsearch.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 helpers shared by document ids, content hashes, cache keys and source fingerprints.
+ */
+public final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * A fresh SHA-256 digest for incremental updates; every JVM is required to provide the algorithm.
+     */
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * SHA-256 of the UTF-8 bytes of {@code value}.
+     */
+    public static byte[] sha256(String value) {
+        return sha256().digest(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,94 @@
+package com.bet99.exercise.jobsearch.cache;
+
+import com.bet99.exercise.jobsearch.dto.SearchResponse;
+import com.bet99.exercise.jobsearch.model.JobTitle;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResultRedisSerializerTest {
+
+    private final RedisSerializer<Object> jdk = RedisSerializer.java();
+    private final SearchResultRedisSerializer serializer = new SearchResultRedisSerializer(jdk, 512);
+
+    @Test
+    void testRoundTrip_SmallResponse_StoredPlain() {
+        // Arrange
+        var response = SearchResponse.of(page(1), 1, 10, "AoE/BjE=");
+
+        // Act
+        var bytes = serializer.serialize(response);
+
+        // Assert
+        assertEquals(SearchResultRedisSerializer.PLAIN, bytes[0]);
+        assertEquals(response, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void testRoundTrip_LargeResponse_DeflatedAndSmallerThanJdk() {
+        // Arrange
+        var response = SearchResponse.of(page(10), 245, 2, 10);
+
+        // Act
+        var bytes = serializer.serialize(response);
+
+        // Assert
+        assertEquals(SearchResultRedisSerializer.DEFLATED, bytes[0]);
+        assertEquals(response, serializer.deserialize(bytes));
+        assertTrue(bytes.length * 4 < jdk.serialize(response).length,
+                "binary " + bytes.length + " bytes vs JDK " + jdk.serialize(response).length);
+    }
+
+    @Test
+    void testDeserialize_OtherValues_UseFallback() {
+        var legacy = jdk.serialize(SearchResponse.of(page(1), 1, 0, 10));
+
+        assertEquals("plain value", serializer.deserialize(serializer.serialize("plain value")));
+        assertEquals(SearchResponse.of(page(1), 1, 0, 10), serializer.deserialize(legacy));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+
+    @Test
+    void testRoundTrip_WithStore_StoresIdsAndHydrates() {
+        // Arrange
+        var store = new JobTitleStore();
+        var idOnly = new SearchResultRedisSerializer(jdk, 512, store);
+        var response = SearchResponse.of(page(10), 245, 2, 10);
+        store.replaceAll(response.results());
+
+        // Act
+        var bytes = idOnly.serialize(response);
+
+        // Assert
+        assertTrue(bytes.length < 150, "id-only entry is " + bytes.length + " bytes");
+        assertEquals(response, idOnly.deserialize(bytes));
+    }
+
+    @Test
+    void testDeserialize_WithStoreMissingAnId_IsCacheMiss() {
+        // Arrange
+        var store = new JobTitleStore();
+        var idOnly = new SearchResultRedisSerializer(jdk, 512, store);
+        var response = SearchResponse.of(page(3), 3, 0, 10);
+        store.replaceAll(response.results().subList(0, 2));
+
+        // Act & Assert
+        assertNull(idOnly.deserialize(idOnly.serialize(response)));
+    }
+
+    private static List<JobTitle> page(int size) {
+        var results = new ArrayList<JobTitle>(size);
+        for (int i = 0; i < size; i++) {
+            results.add(new JobTitle("21232-" + i, "21232", "Software developer " + i,
+                    "Développeur de logiciels " + i,
+                    "Software developers and programmers design, write and test computer programs.",
+                    "Les développeurs de logiciels conçoivent, écrivent et testent des programmes.",
+                    "Natural and applied sciences", "A"));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,206 @@
+package com.bet99.exercise.jobsearch.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoTierCacheTest {
+
+    private ConcurrentMapCache remote;
+    private SimpleMeterRegistry meterRegistry;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("searchResults", false);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TwoTierCache("searchResults", Caffeine.newBuilder().maximumSize(10).build(),
+                remote, meterRegistry);
+    }
+
+    @Test
+    void testGet_RemoteHit_BackfillsLocalTier() {
+        // Arrange
+        remote.put("nurse_en_0_10", "response");
+
+        // Act
+        var first = cache.get("nurse_en_0_10");
+        remote.evict("nurse_en_0_10");
+        var second = cache.get("nurse_en_0_10");
+
+        // Assert
+        assertEquals("response", first.get());
+        assertEquals("response", second.get());
+        assertEquals(1.0, count("l1", "hit"));
+        assertEquals(1.0, count("l2", "hit"));
+    }
+
+    @Test
+    void testGet_MissOnBothTiers_ReturnsNull() {
+        assertNull(cache.get("missing"));
+        assertEquals(1.0, count("l1", "miss"));
+        assertEquals(1.0, count("l2", "miss"));
+    }
+
+    @Test
+    void testGetAll_ReadsLocalMissesInOneRemoteCall() {
+        // Arrange
+        var remoteCalls = new ArrayList<List<Object>>();
+        var batching = new TwoTierCache("searchResults", Caffeine.newBuilder().maximumSize(10).build(), remote,
+                meterRegistry, Duration.ZERO, Runnable::run, keys -> {
+                    remoteCalls.add(keys);
+                    return keys.stream().map(key -> remote.get(key) != null ? remote.get(key).get() : null).toList();
+                });
+        batching.put("nurse", "nurse response");
+        remote.put("welder", "welder response");
+
+        // Act
+        var values = batching.getAll(List.of("nurse", "welder", "missing"));
+
+        // Assert
+        assertEquals(Arrays.asList("nurse response", "welder response", null), values);
+        assertEquals(List.of(List.of("welder", "missing")), remoteCalls);
+        assertEquals("welder response", batching.get("welder").get());
+        assertEquals(1.0, count("l2", "hit"));
+        assertEquals(1.0, count("l2", "miss"));
+    }
+
+    @Test
+    void testClear_ClearsBothTiers() {
+        // Arrange
+        cache.put("developer_en_0_10", "response");
+
+        // Act
+        cache.clear();
+
+        // Assert
+        assertNull(cache.get("developer_en_0_10"));
+        assertNull(remote.get("developer_en_0_10"));
+    }
+
+    @Test
+    void testGetWithLoader_ConcurrentMisses_ShareOneLoad() throws Exception {
+        // Arrange
+        var loads = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var callers = 8;
+
+        // Act
+        try (var executor = Executors.newFixedThreadPool(callers)) {
+            var results = new ArrayList<Future<String>>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get("nurse_en_0_10", () -> {
+                    loads.incrementAndGet();
+                    release.await();
+                    return "response";
+                })));
+            }
+            while (loadCount("coalesced") < callers - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            // Assert
+            for (var result : results) {
+                assertEquals("response", result.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, loads.get());
+        assertEquals("response", remote.get("nurse_en_0_10").get());
+    }
+
+    @Test
+    void testRetrieveWithLoader_ConcurrentMisses_ShareOneLoadAndFillBothTiers() throws Exception {
+        // Arrange
+        var loads = new AtomicInteger();
+        var pending = new CompletableFuture<String>();
+        Supplier<CompletableFuture<String>> loader = () -> {
+            loads.incrementAndGet();
+            return pending;
+        };
+
+        // Act
+        var first = cache.retrieve("nurse_en_0_10", loader);
+        var second = cache.retrieve("nurse_en_0_10", loader);
+        pending.complete("response");
+
+        // Assert
+        assertEquals("response", first.get(5, TimeUnit.SECONDS));
+        assertEquals("response", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(1.0, loadCount("coalesced"));
+        assertEquals("response", remote.get("nurse_en_0_10").get());
+        assertEquals("response", cache.retrieve("nurse_en_0_10").get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, count("l1", "hit"));
+    }
+
+    @Test
+    void testRetrieveWithLoader_ReportsMissThenCoalescedThenHit() throws Exception {
+        // Arrange
+        var outcomes = new ArrayList<CacheOutcome>();
+        var pending = new CompletableFuture<String>();
+        Supplier<CompletableFuture<String>> loader = () -> pending;
+
+        // Act
+        var first = CacheOutcome.observe(outcomes::add, () -> cache.retrieve("nurse_en_0_10", loader));
+        var second = CacheOutcome.observe(outcomes::add, () -> cache.retrieve("nurse_en_0_10", loader));
+        pending.complete("response");
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        CacheOutcome.observe(outcomes::add, () -> cache.retrieve("nurse_en_0_10", loader)).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(List.of(CacheOutcome.MISS, CacheOutcome.COALESCED, CacheOutcome.HIT), outcomes);
+    }
+
+    @Test
+    void testGetWithLoader_AgeingLocalEntry_ReturnsStaleAndRefreshes() {
+        // Arrange
+        var nanos = new AtomicLong();
+        var local = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .ticker(nanos::get)
+                .build();
+        var refreshing = new TwoTierCache("searchResults", local, remote, meterRegistry,
+                Duration.ofSeconds(45), Runnable::run);
+        refreshing.put("nurse_en_0_10", "stale");
+        nanos.addAndGet(Duration.ofSeconds(50).toNanos());
+
+        var outcomes = new ArrayList<CacheOutcome>();
+
+        // Act
+        var served = CacheOutcome.observe(outcomes::add, () -> refreshing.get("nurse_en_0_10", () -> "fresh"));
+
+        // Assert
+        assertEquals("stale", served);
+        assertEquals(List.of(CacheOutcome.HIT), outcomes);
+        assertEquals("fresh", remote.get("nurse_en_0_10").get());
+        assertEquals("fresh", refreshing.get("nurse_en_0_10").get());
+        assertEquals(1.0, loadCount("refresh"));
+    }
+
+    private double loadCount(String type) {
+        return meterRegistry.get("cache.loads").tag("type", type).counter().count();
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("cache.tier.gets").tag("tier", tier).tag("result", result).counter().count();
+    }
+}
@@ -1,24 +1,41 @@
 package com.bet99.exercise.jobsearch.controller;
 
 
+import com.bet99.exercise.jobsearch.dto.BatchSearchResponse;
+import com.bet99.exercise.jobsearch.dto.LoadProgress;
 import com.bet99.exercise.jobsearch.dto.SearchResponse;
+import com.bet99.exercise.jobsearch.dto.SuggestResponse;
+import com.bet99.exercise.jobsearch.exception.InvalidCursorException;
+import com.bet99.exercise.jobsearch.exception.RecordTooLargeException;
+import com.bet99.exercise.jobsearch.loader.LoadProgressTracker;
+import com.bet99.exercise.jobsearch.loader.NdjsonIngester;
 import com.bet99.exercise.jobsearch.model.JobTitle;
+import com.bet99.exercise.jobsearch.query.QueryStatsRecorder;
+import com.bet99.exercise.jobsearch.service.JobTitleBatchSearcher;
+import com.bet99.exercise.jobsearch.service.JobTitleExporter;
 import com.bet99.exercise.jobsearch.service.JobTitleService;
+import com.bet99.exercise.jobsearch.suggest.SuggestService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntConsumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(JobTitleController.class)
+@Import(QueryStatsRecorder.class)
 class JobTitleControllerTest {
 
     @Autowired
@@ -27,6 +44,21 @@ class JobTitleControllerTest {
     @MockBean
     private JobTitleService service;
 
+    @MockBean
+    private NdjsonIngester ndjsonIngester;
+
+    @MockBean
+    private LoadProgressTracker loadProgress;
+
+    @MockBean
+    private SuggestService suggestService;
+
+    @MockBean
+    private JobTitleExporter exporter;
+
+    @MockBean
+    private JobTitleBatchSearcher batchSearcher;
+
     @Test
     void testSearch_WithValidParams_ReturnsOk() throws Exception {
         // Arrange
@@ -49,6 +81,142 @@ class JobTitleControllerTest {
                 .andExpect(jsonPath("$.page_size").value(10));
     }
 
+    @Test
+    void testQueryStats_AfterSlowSearch_ListsIt() throws Exception {
+        // Arrange
+        when(service.search(any())).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return SearchResponse.of(List.of(), 0, 0, 10);
+        });
+        mockMvc.perform(get("/api/v1/jobtitles/search").param("query", " Slow QUERY "))
+                .andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/jobtitles/query-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.slowest[0].query").value("slow query"))
+                .andExpect(jsonPath("$.slowest[0].cache").value("hit"))
+                .andExpect(jsonPath("$.sample_rate").value(0.1));
+    }
+
+    @Test
+    void testSearchAsync_CompletesAndRecordsSolrQTime() throws Exception {
+        // Arrange
+        when(service.searchAsync(any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, IntConsumer.class).accept(7);
+            return CompletableFuture.completedFuture(SearchResponse.of(List.of(), 3, 0, 10));
+        });
+
+        // Act
+        var started = mockMvc.perform(get("/api/v1/jobtitles/search/async").param("query", "nurse"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total_count").value(3));
+        mockMvc.perform(get("/api/v1/jobtitles/query-stats"))
+                .andExpect(jsonPath("$.slowest[0].cache").value("miss"))
+                .andExpect(jsonPath("$.slowest[0].solr_qtime_ms").value(7));
+    }
+
+    @Test
+    void testSearchBatch_ReturnsResultsInRequestOrder() throws Exception {
+        // Arrange
+        when(batchSearcher.search(any())).thenReturn(new BatchSearchResponse(List.of(
+                SearchResponse.of(List.of(), 4, 0, 10),
+                SearchResponse.of(List.of(), 9, 0, 10)), 1, 1));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/jobtitles/search/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"searches": [
+                                  {"query": "nurse", "language": "en", "page": 0, "size": 10},
+                                  {"query": "welder", "language": "en", "page": 0, "size": 10}
+                                ]}"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[0].total_count").value(4))
+                .andExpect(jsonPath("$.results[1].total_count").value(9))
+                .andExpect(jsonPath("$.cache_hits").value(1));
+    }
+
+    @Test
+    void testSearchBatch_WithBlankQuery_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/jobtitles/search/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"searches": [{"query": " ", "language": "en", "page": 0, "size": 10}]}"""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearch_WithInvalidCursor_ReturnsBadRequest() throws Exception {
+        // Arrange
+        when(service.search(any())).thenThrow(new InvalidCursorException("Invalid search cursor", null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/jobtitles/search")
+                        .param("query", "nurse")
+                        .param("cursor", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_CURSOR"))
+                .andExpect(jsonPath("$.message").value("Invalid search cursor"));
+    }
+
+    @Test
+    void testStream_WithOversizedRecord_ReturnsBadRequest() throws Exception {
+        // Arrange
+        when(ndjsonIngester.ingest(any())).thenThrow(new RecordTooLargeException(
+                "NDJSON record at line 2 is longer than 65536 characters", null));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/jobtitles/stream")
+                        .contentType("application/x-ndjson")
+                        .content("{\"id\":\"1\"}\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("RECORD_TOO_LARGE"));
+    }
+
+    @Test
+    void testSuggest_ReturnsSuggestions() throws Exception {
+        // Arrange
+        when(suggestService.suggest("dev", "en", 5)).thenReturn(
+                new SuggestResponse("dev", List.of("Developer", "Web developer"), "local"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/jobtitles/suggest")
+                        .param("query", "dev")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions[0]").value("Developer"))
+                .andExpect(jsonPath("$.suggestions.length()").value(2))
+                .andExpect(jsonPath("$.source").value("local"));
+    }
+
+    @Test
+    void testExport_WithUnknownFormat_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/jobtitles/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testLoadProgress_ReturnsSnapshot() throws Exception {
+        // Arrange
+        when(loadProgress.snapshot()).thenReturn(
+                new LoadProgress("LOADING", 30000, 30000, 12000, 4000, 3000.0, 6000L, null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/jobtitles/load-progress"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("LOADING"))
+                .andExpect(jsonPath("$.docs_indexed").value(12000))
+                .andExpect(jsonPath("$.eta_ms").value(6000))
+                .andExpect(jsonPath("$.message").doesNotExist());
+    }
+
     @Test
     void testHealth_ReturnsOk() throws Exception {
         mockMvc.perform(get("/api/v1/jobtitles/health"))
@@ -0,0 +1,126 @@
+package com.bet99.exercise.jobsearch.loader;
+
+import com.bet99.exercise.jobsearch.exception.IndexingException;
+import com.bet99.exercise.jobsearch.model.JobTitle;
+import com.bet99.exercise.jobsearch.service.JobTitleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkIndexerTest {
+
+    @Mock
+    private JobTitleService jobTitleService;
+
+    private BulkIndexer bulkIndexer;
+
+    @BeforeEach
+    void setUp() {
+        bulkIndexer = new BulkIndexer(jobTitleService);
+        ReflectionTestUtils.setField(bulkIndexer, "batchSize", 10);
+        ReflectionTestUtils.setField(bulkIndexer, "retryBackoffMillis", 1L);
+    }
+
+    @Test
+    void testIndexAll_SendsAllBatchesAndCommitsOnce() {
+        // Act
+        var report = bulkIndexer.indexAll(jobTitles(25));
+
+        // Assert
+        verify(jobTitleService, times(3)).indexJobTitleBatch(anyCollection());
+        verify(jobTitleService, times(1)).completeLoad();
+        assertEquals(25, report.docsIndexed());
+        assertEquals(3, report.batches());
+        assertEquals(0, report.failedBatches());
+    }
+
+    @Test
+    void testIndexAll_RetriesFailedBatch() {
+        // Arrange
+        doThrow(new IndexingException("Solr unavailable", null))
+                .doNothing()
+                .when(jobTitleService).indexJobTitleBatch(anyCollection());
+
+        // Act
+        var report = bulkIndexer.indexAll(jobTitles(5));
+
+        // Assert
+        verify(jobTitleService, times(2)).indexJobTitleBatch(anyCollection());
+        assertEquals(5, report.docsIndexed());
+        assertEquals(0, report.docsFailed());
+    }
+
+    @Test
+    void testIndexAll_GivesUpAfterMaxRetries() {
+        // Arrange
+        ReflectionTestUtils.setField(bulkIndexer, "maxRetries", 2);
+        doThrow(new IndexingException("Solr unavailable", null))
+                .when(jobTitleService).indexJobTitleBatch(anyCollection());
+
+        // Act
+        var report = bulkIndexer.indexAll(jobTitles(5));
+
+        // Assert
+        verify(jobTitleService, times(3)).indexJobTitleBatch(anyCollection());
+        verify(jobTitleService, times(1)).completeLoad();
+        assertEquals(5, report.docsFailed());
+        assertEquals(1, report.failedBatches());
+    }
+
+    @Test
+    void testIndexAll_FailedUpserts_StillCommitsDeletes() {
+        // Arrange
+        ReflectionTestUtils.setField(bulkIndexer, "maxRetries", 0);
+        doThrow(new IndexingException("Solr unavailable", null))
+                .when(jobTitleService).indexJobTitleBatch(anyCollection());
+        var deleteIds = IntStream.range(0, 15).mapToObj(String::valueOf).toList();
+
+        // Act
+        var report = bulkIndexer.indexAll(jobTitles(5), deleteIds, docs -> {});
+
+        // Assert
+        verify(jobTitleService, times(2)).deleteJobTitleBatch(anyList());
+        verify(jobTitleService, times(1)).completeLoad();
+        assertEquals(0, report.docsIndexed());
+        assertEquals(5, report.docsFailed());
+    }
+
+    @Test
+    void testIndexAll_DeletesOnly_Commits() {
+        // Act
+        bulkIndexer.indexAll(List.of(), List.of("1", "2"), docs -> {});
+
+        // Assert
+        verify(jobTitleService, times(1)).deleteJobTitleBatch(List.of("1", "2"));
+        verify(jobTitleService, never()).indexJobTitleBatch(anyCollection());
+        verify(jobTitleService, times(1)).completeLoad();
+    }
+
+    @Test
+    void testIndexAll_NothingToSend_DoesNotCommit() {
+        // Act
+        bulkIndexer.indexAll(List.of());
+
+        // Assert
+        verify(jobTitleService, never()).completeLoad();
+    }
+
+    private List<JobTitle> jobTitles(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new JobTitle(String.valueOf(i), "00010", "Title " + i, "Titre " + i,
+                        "", "", "Management", "0"))
+                .toList();
+    }
+}
@@ -0,0 +1,61 @@
+package com.bet99.exercise.jobsearch.loader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedCsvReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testParse_MergesChunksInFileOrder() throws Exception {
+        // Arrange
+        var csv = new StringBuilder("id,title\n");
+        for (int i = 0; i < 500; i++) {
+            csv.append(i).append(",\"Title ").append(i).append("\"\n");
+        }
+        var file = Files.writeString(tempDir.resolve("elements.csv"), csv);
+
+        // Act
+        var chunks = ChunkedCsvReader.parse(file, true, 256, ChunkedCsvReaderTest::ids);
+
+        // Assert
+        assertTrue(chunks.size() > 1);
+        var ids = chunks.stream().flatMap(List::stream).toList();
+        assertEquals(500, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i, ids.get(i));
+        }
+    }
+
+    @Test
+    void testChunkBoundaries_NeverSplitQuotedNewlines() {
+        // Arrange
+        var csv = "h\n1,\"a\nb\nc\nd\"\n2,x\n3,y\n";
+        var bytes = ByteBuffer.wrap(csv.getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        var bounds = ChunkedCsvReader.chunkBoundaries(bytes, true, 1);
+
+        // Assert: starts after the header, then only at record starts
+        assertArrayEquals(new int[]{2, csv.indexOf("2,x"), csv.indexOf("3,y"), csv.length()}, bounds);
+    }
+
+    private static List<Integer> ids(CsvParser record) {
+        var ids = new ArrayList<Integer>();
+        while (record.next()) {
+            ids.add(record.intField(0));
+        }
+        return ids;
+    }
+}
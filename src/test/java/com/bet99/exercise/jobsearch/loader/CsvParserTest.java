@@ -0,0 +1,97 @@
+package com.bet99.exercise.jobsearch.loader;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvParserTest {
+
+    @Test
+    void testNext_SplitsSimpleRecords() {
+        var parser = parser("a,b,c\n1,2,3\n");
+
+        assertTrue(parser.next());
+        assertEquals(3, parser.fieldCount());
+        assertEquals("a", parser.field(0));
+        assertTrue(parser.next());
+        assertEquals("3", parser.field(2));
+        assertFalse(parser.next());
+    }
+
+    @Test
+    void testNext_HandlesEscapedQuotesAndEmbeddedNewlines() {
+        var parser = parser("1,\"He said \"\"hi\"\"\",\"line one\r\nline two\",x\r\nnext,row");
+
+        assertTrue(parser.next());
+        assertEquals(4, parser.fieldCount());
+        assertEquals("He said \"hi\"", parser.field(1));
+        assertEquals("line one\r\nline two", parser.field(2));
+        assertEquals("x", parser.field(3));
+        assertTrue(parser.next());
+        assertEquals("next", parser.field(0));
+        assertFalse(parser.next());
+    }
+
+    @Test
+    void testNext_KeepsEmptyAndTrailingFields() {
+        var parser = parser("a,,\n");
+
+        assertTrue(parser.next());
+        assertEquals(3, parser.fieldCount());
+        assertEquals("", parser.field(1));
+        assertEquals("", parser.field(2));
+    }
+
+    @Test
+    void testNext_SkipsByteOrderMark() {
+        var parser = parser("\uFEFFLevel,Code");
+
+        assertTrue(parser.next());
+        assertEquals("Level", parser.field(0));
+    }
+
+    @Test
+    void testCleanField_TrimsAndDropsBrackets() {
+        var parser = parser("\"  [Senior] managers  \", [00010] ");
+
+        assertTrue(parser.next());
+        assertEquals("Senior managers", parser.cleanField(0));
+        assertEquals(10, parser.intField(1));
+        assertEquals("[00010]", parser.trimmedField(1));
+    }
+
+    @Test
+    void testIntField_RejectsNonNumeric() {
+        var parser = parser("abc,");
+
+        assertTrue(parser.next());
+        assertThrows(NumberFormatException.class, () -> parser.intField(0));
+        assertThrows(NumberFormatException.class, () -> parser.intField(1));
+    }
+
+    @Test
+    void testRecordContains_LooksAtCurrentRecordOnly() {
+        var parser = parser("1,Main duties\n2,Illustrative example(s)\n");
+
+        assertTrue(parser.next());
+        assertFalse(parser.recordContains("example"));
+        assertTrue(parser.next());
+        assertTrue(parser.recordContains("example"));
+    }
+
+    @Test
+    void testFormatNocCode_ZeroPadsToFiveDigits() {
+        assertEquals("00010", DataLoader.formatNocCode(10));
+        assertEquals("21232", DataLoader.formatNocCode(21232));
+    }
+
+    private CsvParser parser(String csv) {
+        try {
+            return CsvParser.read(new StringReader(csv));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
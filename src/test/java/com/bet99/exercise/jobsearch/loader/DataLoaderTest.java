@@ -1,22 +1,58 @@
 package com.bet99.exercise.jobsearch.loader;
 
+import com.bet99.exercise.jobsearch.cache.JobTitleStore;
+import com.bet99.exercise.jobsearch.exception.DataLoadException;
+import com.bet99.exercise.jobsearch.exception.IndexingException;
+import com.bet99.exercise.jobsearch.model.JobTitle;
+import com.bet99.exercise.jobsearch.model.JobTitleIdentity;
 import com.bet99.exercise.jobsearch.service.JobTitleService;
+import com.bet99.exercise.jobsearch.suggest.SuggestService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.annotation.Resource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class DataLoaderTest {
 
+    @Mock
+    private BulkIndexer bulkIndexer;
+
     @Mock
     private JobTitleService jobTitleService;
 
+    @Mock
+    private LoaderLock loaderLock;
+
+    @Mock
+    private SuggestService suggestService;
+
+    private final LoadProgressTracker progress = new LoadProgressTracker();
+
+    private final JobTitleStore jobTitleStore = new JobTitleStore();
+
     private DataLoader dataLoader;
 
     @Mock
@@ -27,7 +63,8 @@ class DataLoaderTest {
 
     @BeforeEach
     void setUp() {
-        dataLoader = new DataLoader(jobTitleService);
+        dataLoader = new DataLoader(bulkIndexer, jobTitleService, loaderLock, progress, suggestService, jobTitleStore,
+                new SimpleMeterRegistry());
     }
 
     @Test
@@ -39,6 +76,153 @@ class DataLoaderTest {
         dataLoader.run();
 
         // Assert
+        verifyNoInteractions(bulkIndexer);
         verifyNoInteractions(jobTitleService);
+        assertTrue(progress.isFirstLoadCompleted());
+    }
+
+    @Test
+    void testRun_WhenIndexMatchesSourceFingerprint_SkipsLoad() throws Exception {
+        // Arrange
+        var structure = new ByteArrayResource("structure".getBytes(StandardCharsets.UTF_8));
+        var elements = new ByteArrayResource("elements".getBytes(StandardCharsets.UTF_8));
+        ReflectionTestUtils.setField(dataLoader, "loaderEnabled", true);
+        ReflectionTestUtils.setField(dataLoader, "async", false);
+        ReflectionTestUtils.setField(dataLoader, "structureResource", structure);
+        ReflectionTestUtils.setField(dataLoader, "elementsResource", elements);
+        when(jobTitleService.indexSourceFingerprint())
+                .thenReturn(Optional.of(SourceFingerprint.of(structure, elements)));
+
+        // Act
+        dataLoader.run();
+
+        // Assert
+        verifyNoInteractions(bulkIndexer);
+        verifyNoInteractions(loaderLock);
+        verify(jobTitleService, never()).recordSourceFingerprint(anyString());
+        verify(suggestService).rebuild(anyCollection());
+        assertEquals(LoadProgressTracker.State.COMPLETED, progress.state());
+    }
+
+    @Test
+    void testRun_WithoutFastStart_AfterWaitingForLeader_SkipsLoadWhenFingerprintMatches() throws Exception {
+        // Arrange
+        var structure = new ByteArrayResource("structure".getBytes(StandardCharsets.UTF_8));
+        var elements = new ByteArrayResource("elements".getBytes(StandardCharsets.UTF_8));
+        ReflectionTestUtils.setField(dataLoader, "loaderEnabled", true);
+        ReflectionTestUtils.setField(dataLoader, "async", false);
+        ReflectionTestUtils.setField(dataLoader, "fastStart", false);
+        ReflectionTestUtils.setField(dataLoader, "leaderLockEnabled", true);
+        ReflectionTestUtils.setField(dataLoader, "leaderPollMillis", 1L);
+        ReflectionTestUtils.setField(dataLoader, "structureResource", structure);
+        ReflectionTestUtils.setField(dataLoader, "elementsResource", elements);
+        when(loaderLock.tryAcquire()).thenReturn(false, true);
+        when(jobTitleService.indexSourceFingerprint())
+                .thenReturn(Optional.empty(), Optional.of(SourceFingerprint.of(structure, elements)));
+
+        // Act
+        dataLoader.run();
+
+        // Assert
+        verifyNoInteractions(bulkIndexer);
+        verify(loaderLock).release();
+        verify(jobTitleService, never()).recordSourceFingerprint(anyString());
+        assertEquals("Index loaded by another instance", progress.snapshot().message());
+    }
+
+    @Test
+    void testRun_WithElementsPath_ReadsElementsFromFilesystem(@TempDir Path dataDir) throws Exception {
+        // Arrange
+        var structure = new ByteArrayResource("structure".getBytes(StandardCharsets.UTF_8));
+        var elementsFile = Files.writeString(dataDir.resolve("elements.csv"), "header\n");
+        ReflectionTestUtils.setField(dataLoader, "loaderEnabled", true);
+        ReflectionTestUtils.setField(dataLoader, "async", false);
+        ReflectionTestUtils.setField(dataLoader, "structureResource", structure);
+        ReflectionTestUtils.setField(dataLoader, "elementsResource",
+                new ByteArrayResource("classpath copy".getBytes(StandardCharsets.UTF_8)));
+        ReflectionTestUtils.setField(dataLoader, "elementsPath", elementsFile.toString());
+        when(jobTitleService.indexSourceFingerprint())
+                .thenReturn(Optional.of(SourceFingerprint.of(structure, new FileSystemResource(elementsFile))));
+
+        // Act
+        dataLoader.run();
+
+        // Assert
+        verifyNoInteractions(bulkIndexer);
+        assertEquals("Index already current", progress.snapshot().message());
+    }
+
+    @Test
+    void testLoadIndex_WhenSolrUnavailable_ReportsFailureAndStaysNotReady() {
+        // Arrange
+        ReflectionTestUtils.setField(dataLoader, "structureResource",
+                new ByteArrayResource("structure".getBytes(StandardCharsets.UTF_8)));
+        ReflectionTestUtils.setField(dataLoader, "elementsResource",
+                new ByteArrayResource("elements".getBytes(StandardCharsets.UTF_8)));
+        when(jobTitleService.indexSourceFingerprint()).thenThrow(new IndexingException("Solr down", null));
+
+        // Act & Assert
+        assertThrows(DataLoadException.class, () -> dataLoader.loadIndex());
+        assertEquals(LoadProgressTracker.State.FAILED, progress.state());
+        assertFalse(progress.isFirstLoadCompleted());
+        assertEquals("Solr down", progress.snapshot().message());
+    }
+
+    @Test
+    void testSourceFingerprint_ChangesWithContent() throws Exception {
+        var original = SourceFingerprint.of(new ByteArrayResource("a,b".getBytes(StandardCharsets.UTF_8)));
+        var changed = SourceFingerprint.of(new ByteArrayResource("a,c".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(original, SourceFingerprint.of(new ByteArrayResource("a,b".getBytes(StandardCharsets.UTF_8))));
+        assertNotEquals(original, changed);
+    }
+
+    @Test
+    void testPlanDelta_UnchangedIndex_SendsNothing() {
+        // Arrange
+        var source = List.of(jobTitle("21232", "Software developer"), jobTitle("31102", "Family physician"));
+        var indexed = Map.of(
+                source.get(0).id(), JobTitleIdentity.contentHash(source.get(0)),
+                source.get(1).id(), JobTitleIdentity.contentHash(source.get(1)));
+
+        // Act
+        var plan = DataLoader.planDelta(source, indexed);
+
+        // Assert
+        assertTrue(plan.upserts().isEmpty());
+        assertTrue(plan.deletes().isEmpty());
+        assertEquals(2, plan.unchanged());
+    }
+
+    @Test
+    void testPlanDelta_SendsAddedChangedAndRemoved() {
+        // Arrange
+        var unchanged = jobTitle("21232", "Software developer");
+        var changed = jobTitle("31102", "Family physician");
+        var added = jobTitle("63200", "Cook");
+        var indexed = Map.of(
+                unchanged.id(), JobTitleIdentity.contentHash(unchanged),
+                changed.id(), "stale-hash",
+                "1", "");
+
+        // Act
+        var plan = DataLoader.planDelta(List.of(unchanged, changed, added), indexed);
+
+        // Assert
+        assertEquals(List.of(changed, added), plan.upserts());
+        assertEquals(List.of("1"), plan.deletes());
+        assertEquals(1, plan.unchanged());
+    }
+
+    @Test
+    void testJobTitleIdentity_IsStableAndDistinguishesTitles() {
+        assertEquals(JobTitleIdentity.id("21232", "Software developer"), JobTitleIdentity.id("21232", "Software developer"));
+        assertNotEquals(JobTitleIdentity.id("21232", "Software developer"), JobTitleIdentity.id("21232", "Web developer"));
+        assertTrue(JobTitleIdentity.id("21232", "Software developer").startsWith("21232-"));
+    }
+
+    private JobTitle jobTitle(String nocCode, String title) {
+        return new JobTitle(JobTitleIdentity.id(nocCode, title), nocCode, title, title + " (FR)",
+                "", "", "General", "A");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package com.bet99.exercise.jobsearch.loader;
+
+import com.bet99.exercise.jobsearch.exception.RecordTooLargeException;
+import com.bet99.exercise.jobsearch.service.JobTitleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NdjsonIngesterTest {
+
+    @Mock
+    private JobTitleService jobTitleService;
+
+    private NdjsonIngester ingester;
+
+    @BeforeEach
+    void setUp() {
+        var bulkIndexer = new BulkIndexer(jobTitleService);
+        ReflectionTestUtils.setField(bulkIndexer, "batchSize", 2);
+        ingester = new NdjsonIngester(bulkIndexer, new ObjectMapper());
+    }
+
+    @Test
+    void testIngest_CountsAcceptedAndRejectedLines() {
+        // Arrange
+        var body = """
+                {"id":"1","noc_code":"00010","title_en":"Legislators"}
+                {"id":"2","noc_code":"00010","title_en":"Senators"}
+
+                {"noc_code":"00010","title_en":"Missing id"}
+                not json
+                {"id":"3","noc_code":"31301","title_en":"Nurses"}
+                """;
+
+        // Act
+        var summary = ingester.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(3, summary.accepted());
+        assertEquals(2, summary.rejected());
+        assertEquals(4, summary.errors().getFirst().line());
+        verify(jobTitleService, times(2)).indexJobTitleBatch(anyCollection());
+        verify(jobTitleService, times(1)).completeLoad();
+    }
+
+    @Test
+    void testIngest_CrLfLinesWithinLimit_AreAccepted() {
+        // Arrange
+        ReflectionTestUtils.setField(ingester, "maxRecordLength", 60);
+        var body = "{\"id\":\"1\",\"noc_code\":\"00010\",\"title_en\":\"Legislators\"}\r\n"
+                + "{\"id\":\"2\",\"noc_code\":\"00010\",\"title_en\":\"Senators\"}";
+
+        // Act
+        var summary = ingester.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(2, summary.accepted());
+        assertEquals(0, summary.rejected());
+    }
+
+    @Test
+    void testIngest_RecordLongerThanLimit_RejectsUpload() {
+        // Arrange
+        ReflectionTestUtils.setField(ingester, "maxRecordLength", 60);
+        var body = "{\"id\":\"1\",\"noc_code\":\"00010\",\"title_en\":\"Legislators\"}\n"
+                + "{\"id\":\"2\",\"noc_code\":\"00010\",\"title_en\":\"" + "x".repeat(100_000) + "\"}\n";
+
+        // Act & Assert
+        var failure = assertThrows(RecordTooLargeException.class,
+                () -> ingester.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))));
+        assertTrue(failure.getMessage().contains("line 2"));
+        verify(jobTitleService, never()).completeLoad();
+    }
+}
@@ -0,0 +1,49 @@
+package com.bet99.exercise.jobsearch.query;
+
+import com.bet99.exercise.jobsearch.dto.SearchRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryNormalizerTest {
+
+    private final QueryNormalizer normalizer = new QueryNormalizer();
+
+    @Test
+    void testFold_TrimsCaseFoldsAndStripsAccents() {
+        assertEquals("infirmiere auxiliaire", QueryNormalizer.fold("  Infirmière\t AUXILIAIRE "));
+        assertEquals("", QueryNormalizer.fold(null));
+    }
+
+    @Test
+    void testEscapedTerms_EscapesQuerySyntax() {
+        assertEquals(List.of("c\\+\\+", "developer\\:senior"), QueryNormalizer.escapedTerms(" C++  developer:senior"));
+        assertTrue(QueryNormalizer.escapedTerms("   ").isEmpty());
+    }
+
+    @Test
+    void testCacheKey_EquivalentQueriesShareKey() {
+        // Arrange
+        var plain = new SearchRequest("nurse", "en", 0, 10);
+        var padded = new SearchRequest(" NURSE ", "en", 0, 10);
+        var otherPage = new SearchRequest("nurse", "en", 1, 10);
+
+        // Act
+        var key = normalizer.cacheKey(plain);
+
+        // Assert
+        assertEquals(key, normalizer.cacheKey(padded));
+        assertNotEquals(key, normalizer.cacheKey(otherPage));
+        assertEquals(22, key.length());
+    }
+
+    @Test
+    void testCacheKey_CursorRequestsIgnorePage() {
+        var first = new SearchRequest("nurse", "en", 0, 10, "AoE/BjE=");
+        var second = new SearchRequest("nurse", "en", 3, 10, "AoE/BjE=");
+
+        assertEquals(normalizer.cacheKey(first), normalizer.cacheKey(second));
+    }
+}
@@ -0,0 +1,141 @@
+package com.bet99.exercise.jobsearch.query;
+
+import com.bet99.exercise.jobsearch.cache.TwoTierCache;
+import com.bet99.exercise.jobsearch.dto.QueryStats;
+import com.bet99.exercise.jobsearch.dto.SearchRequest;
+import com.bet99.exercise.jobsearch.dto.SearchResponse;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryStatsRecorderTest {
+
+    private QueryStatsRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new QueryStatsRecorder();
+        ReflectionTestUtils.setField(recorder, "topSize", 2);
+        ReflectionTestUtils.setField(recorder, "recentSize", 3);
+        ReflectionTestUtils.setField(recorder, "sampleRate", 1.0);
+        recorder.init();
+    }
+
+    @Test
+    void testRecord_WithSolrQTime_MarksCacheMiss() {
+        // Act
+        recorder.record(request("nurse"), () -> {
+            recorder.noteSolrQTime(7);
+            return SearchResponse.of(List.of(), 42, 0, 10);
+        });
+
+        // Assert
+        var sample = recorder.snapshot().recent().getFirst();
+        assertEquals("miss", sample.cache());
+        assertEquals(7, sample.solrQTimeMillis());
+        assertEquals(42, sample.numFound());
+    }
+
+    @Test
+    void testRecord_StaleHitRefreshedInline_MarksCacheHitWithoutQTime() {
+        // Arrange
+        var nanos = new AtomicLong();
+        var cache = new TwoTierCache("searchResults",
+                Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(1)).ticker(nanos::get).build(),
+                new ConcurrentMapCache("searchResults"), new SimpleMeterRegistry(),
+                Duration.ofSeconds(45), Runnable::run);
+        cache.put("nurse", SearchResponse.of(List.of(), 42, 0, 10));
+        nanos.addAndGet(Duration.ofSeconds(50).toNanos());
+
+        // Act
+        recorder.record(request("nurse"), () -> cache.get("nurse", () -> {
+            recorder.noteSolrQTime(7);
+            return SearchResponse.of(List.of(), 43, 0, 10);
+        }));
+
+        // Assert
+        var sample = recorder.snapshot().recent().getFirst();
+        assertEquals("hit", sample.cache());
+        assertNull(sample.solrQTimeMillis());
+        assertEquals(42, sample.numFound());
+    }
+
+    @Test
+    void testRecordAsync_WaitOnInFlightSearch_MarksCacheCoalesced() {
+        // Arrange
+        var cache = new TwoTierCache("searchResults", Caffeine.newBuilder().build(),
+                new ConcurrentMapCache("searchResults"), new SimpleMeterRegistry());
+        var pending = new CompletableFuture<SearchResponse>();
+        Function<IntConsumer, CompletableFuture<SearchResponse>> search = qTime ->
+                cache.retrieve("nurse", () -> pending.thenApply(response -> {
+                    qTime.accept(7);
+                    return response;
+                }));
+
+        // Act
+        var leader = recorder.recordAsync(request("nurse"), search);
+        var waiter = recorder.recordAsync(request("nurse"), search);
+        pending.complete(SearchResponse.of(List.of(), 42, 0, 10));
+        leader.join();
+        waiter.join();
+
+        // Assert
+        var byCache = recorder.snapshot().recent().stream()
+                .collect(Collectors.toMap(QueryStats.Sample::cache, sample -> sample));
+        assertEquals(Set.of("miss", "coalesced"), byCache.keySet());
+        assertEquals(7, byCache.get("miss").solrQTimeMillis());
+        assertNull(byCache.get("coalesced").solrQTimeMillis());
+    }
+
+    @Test
+    void testSnapshot_KeepsSlowestPerQueryWithinTopSize() {
+        // Arrange
+        recorder.record(request("nurse"), 10, null, null, 1);
+        recorder.record(request("NURSE"), 30, null, null, 1);
+        recorder.record(request("cook"), 20, null, null, 1);
+        recorder.record(request("welder"), 5, null, null, 1);
+
+        // Act
+        var slowest = recorder.snapshot().slowest();
+
+        // Assert
+        assertEquals(List.of("nurse", "cook"), slowest.stream().map(s -> s.query()).toList());
+        assertEquals(30, slowest.getFirst().totalMillis());
+    }
+
+    @Test
+    void testSnapshot_CountsFrequencyAndBoundsRecentSamples() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            recorder.record(request("nurse"), 1, null, null, 1);
+        }
+        recorder.record(request("cook"), 1, null, null, 1);
+
+        // Act
+        var stats = recorder.snapshot();
+
+        // Assert
+        assertEquals("nurse", stats.mostFrequent().getFirst().query());
+        assertEquals(3, stats.mostFrequent().getFirst().estimatedCount());
+        assertEquals(3, stats.recent().size());
+        assertEquals("cook", stats.recent().getFirst().query());
+    }
+
+    private static SearchRequest request(String query) {
+        return new SearchRequest(query, "en", 0, 10);
+    }
+}
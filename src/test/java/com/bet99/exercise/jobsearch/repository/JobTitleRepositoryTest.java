@@ -0,0 +1,101 @@
+package com.bet99.exercise.jobsearch.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobTitleRepositoryTest {
+
+    @Mock
+    private SolrClient solrClient;
+
+    private JobTitleRepository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var bulkhead = new SolrBulkhead(new SimpleMeterRegistry());
+        bulkhead.init();
+        repository = new JobTitleRepository(solrClient, solrClient, bulkhead, new SimpleMeterRegistry());
+        when(solrClient.query(any(SolrQuery.class))).thenReturn(new QueryResponse());
+    }
+
+    @Test
+    void testSearch_NgramMode_UsesTermQueriesWithoutWildcards() throws Exception {
+        // Act
+        repository.search("Software dev", "en", 0, 10);
+
+        // Assert
+        var query = captureQuery();
+        assertFalse(query.getQuery().contains("*"));
+        assertTrue(query.getQuery().contains("title_en_edge:(software dev)"));
+        assertTrue(query.getQuery().contains("title_en_ngram:(software dev)"));
+        assertEquals("AND", query.get("q.op"));
+    }
+
+    @Test
+    void testSearch_NgramMode_EscapesSpecialCharacters() throws Exception {
+        // Act
+        repository.search("c++", "fr", 0, 10);
+
+        // Assert
+        assertTrue(captureQuery().getQuery().contains("title_fr_ngram:(c\\+\\+)"));
+    }
+
+    @Test
+    void testSearch_WildcardMode_KeepsLegacyQuery() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(repository, "searchMode", "wildcard");
+
+        // Act
+        repository.search("Nurse", "en", 20, 10);
+
+        // Assert
+        var query = captureQuery();
+        assertEquals("title_en:*nurse* OR description_en:*nurse*", query.getQuery());
+        assertEquals(20, query.getStart());
+    }
+
+    @Test
+    void testSearch_ExcludesIndexMetadataDocument() throws Exception {
+        // Act
+        repository.search("", "all", 0, 10);
+
+        // Assert
+        var query = captureQuery();
+        assertEquals("*:*", query.getQuery());
+        assertArrayEquals(new String[]{"-id:__index_metadata__"}, query.getFilterQueries());
+    }
+
+    @Test
+    void testSearchAfter_SetsCursorMarkAndIdTiebreaker() throws Exception {
+        // Act
+        repository.searchAfter("Nurse", "en", "*", 25);
+
+        // Assert
+        var query = captureQuery();
+        assertEquals("*", query.get("cursorMark"));
+        assertNull(query.getStart());
+        assertEquals(25, query.getRows());
+        assertEquals("score desc,id asc", query.getSortField());
+    }
+
+    private SolrQuery captureQuery() throws Exception {
+        var captor = ArgumentCaptor.forClass(SolrQuery.class);
+        verify(solrClient).query(captor.capture());
+        return captor.getValue();
+    }
+}
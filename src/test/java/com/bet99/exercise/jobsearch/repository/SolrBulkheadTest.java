@@ -0,0 +1,124 @@
+package com.bet99.exercise.jobsearch.repository;
+
+import com.bet99.exercise.jobsearch.exception.SearchUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolrBulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SolrBulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        bulkhead = new SolrBulkhead(meterRegistry);
+        ReflectionTestUtils.setField(bulkhead, "maxConcurrent", 1);
+        ReflectionTestUtils.setField(bulkhead, "maxWaitMillis", 10L);
+        ReflectionTestUtils.setField(bulkhead, "bulkMaxConcurrent", 1);
+        bulkhead.init();
+    }
+
+    @Test
+    void testCall_ReturnsResultAndReleasesPermit() throws Exception {
+        assertEquals("first", bulkhead.call(() -> "first"));
+        assertEquals("second", bulkhead.call(() -> "second"));
+        assertEquals(0, meterRegistry.get("solr.bulkhead.active").gauge().value());
+    }
+
+    @Test
+    void testCall_ShedsWhenFull() throws Exception {
+        // Arrange
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var holder = CompletableFuture.runAsync(() -> {
+            try {
+                bulkhead.call(() -> {
+                    entered.countDown();
+                    try {
+                        return release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // Act & Assert
+        assertThrows(SearchUnavailableException.class, () -> bulkhead.call(() -> "shed"));
+        assertEquals(1, meterRegistry.get("solr.bulkhead.rejected").counter().count());
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals("after", bulkhead.call(() -> "after"));
+    }
+
+    @Test
+    void testCallBulk_WaitsForPermitInsteadOfShedding() throws Exception {
+        // Arrange
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var holder = CompletableFuture.runAsync(() -> {
+            try {
+                bulkhead.callBulk(() -> {
+                    entered.countDown();
+                    try {
+                        return release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // Act
+        var waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bulkhead.callBulk(() -> "waited");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        assertFalse(waiter.isDone());
+        release.countDown();
+
+        // Assert
+        assertEquals("waited", waiter.get(5, TimeUnit.SECONDS));
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals(0, meterRegistry.get("solr.bulkhead.rejected").counter().count());
+    }
+
+    @Test
+    void testBulk_RoutesCallsToBulkPool() throws Exception {
+        // Arrange
+        var full = new SolrBulkhead(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(full, "maxConcurrent", 0);
+        full.init();
+
+        // Act & Assert
+        assertThrows(SearchUnavailableException.class, () -> full.call(() -> "shed"));
+        assertEquals("bulk", full.bulk(() -> {
+            try {
+                return full.call(() -> "bulk");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+    }
+}
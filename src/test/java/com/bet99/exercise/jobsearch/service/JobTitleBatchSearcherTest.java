@@ -0,0 +1,90 @@
+package com.bet99.exercise.jobsearch.service;
+
+import com.bet99.exercise.jobsearch.cache.IndexGeneration;
+import com.bet99.exercise.jobsearch.dto.SearchRequest;
+import com.bet99.exercise.jobsearch.dto.SearchResponse;
+import com.bet99.exercise.jobsearch.exception.SearchUnavailableException;
+import com.bet99.exercise.jobsearch.query.QueryNormalizer;
+import com.bet99.exercise.jobsearch.repository.SolrBulkhead;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobTitleBatchSearcherTest {
+
+    @Mock
+    private JobTitleService service;
+
+    @Mock
+    private IndexGeneration indexGeneration;
+
+    @Mock
+    private SolrBulkhead bulkhead;
+
+    private final QueryNormalizer queryNormalizer = new QueryNormalizer();
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("searchResults");
+    private JobTitleBatchSearcher batchSearcher;
+
+    @BeforeEach
+    void setUp() {
+        when(indexGeneration.current()).thenReturn(3L);
+        when(bulkhead.bulk(any())).thenAnswer(invocation -> invocation.getArgument(0, Supplier.class).get());
+        batchSearcher = new JobTitleBatchSearcher(service, cacheManager, indexGeneration, queryNormalizer, bulkhead);
+    }
+
+    @Test
+    void testSearch_MixesHitsAndMissesInRequestOrder() {
+        // Arrange
+        var nurse = new SearchRequest("nurse", "en", 0, 10);
+        var welder = new SearchRequest("welder", "en", 0, 10);
+        var cachedNurse = SearchResponse.of(List.of(), 4, 0, 10);
+        var solrWelder = SearchResponse.of(List.of(), 9, 0, 10);
+        cacheManager.getCache("searchResults").put("3_" + queryNormalizer.cacheKey(nurse), cachedNurse);
+        when(service.searchUncached(welder)).thenReturn(solrWelder);
+
+        // Act
+        var response = batchSearcher.search(List.of(welder, nurse, new SearchRequest(" WELDER ", "en", 0, 10)));
+
+        // Assert
+        assertEquals(List.of(solrWelder, cachedNurse, solrWelder), response.results());
+        assertEquals(1, response.cacheHits());
+        assertEquals(1, response.solrSearches());
+        verify(service, times(1)).searchUncached(any());
+        assertEquals(solrWelder,
+                cacheManager.getCache("searchResults").get("3_" + queryNormalizer.cacheKey(welder)).get());
+    }
+
+    @Test
+    void testSearch_FailedMiss_FailsBatch() {
+        // Arrange
+        when(service.searchUncached(any()))
+                .thenThrow(new SearchUnavailableException("Search is overloaded, retry shortly", null));
+
+        // Act & Assert
+        assertThrows(SearchUnavailableException.class,
+                () -> batchSearcher.search(List.of(new SearchRequest("nurse", "en", 0, 10))));
+    }
+
+    @Test
+    void testSearch_MissesRunAsBulkSolrCalls() {
+        // Arrange
+        when(service.searchUncached(any())).thenReturn(SearchResponse.of(List.of(), 0, 0, 10));
+
+        // Act
+        batchSearcher.search(List.of(new SearchRequest("nurse", "en", 0, 10), new SearchRequest("cook", "en", 0, 10)));
+
+        // Assert
+        verify(bulkhead, times(2)).bulk(any());
+    }
+}
@@ -0,0 +1,163 @@
+package com.bet99.exercise.jobsearch.service;
+
+import com.bet99.exercise.jobsearch.exception.SearchException;
+import com.bet99.exercise.jobsearch.exception.SearchUnavailableException;
+import com.bet99.exercise.jobsearch.model.JobTitle;
+import com.bet99.exercise.jobsearch.repository.JobTitleRepository;
+import com.bet99.exercise.jobsearch.repository.SolrBulkhead;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobTitleExporterTest {
+
+    @Mock
+    private JobTitleRepository repository;
+
+    private JobTitleExporter exporter;
+
+    private final SolrDocument firstDoc = new SolrDocument();
+    private final SolrDocument secondDoc = new SolrDocument();
+
+    @BeforeEach
+    void setUp() {
+        exporter = new JobTitleExporter(repository, new ObjectMapper());
+        ReflectionTestUtils.setField(exporter, "pageSize", 1);
+    }
+
+    @Test
+    void testExport_Ndjson_WritesOneObjectPerLineAcrossPages() throws Exception {
+        // Arrange
+        stubTwoPages();
+
+        // Act
+        var output = new ByteArrayOutputStream();
+        long exported = exporter.export("nurse", "en", JobTitleExporter.Format.NDJSON, output);
+
+        // Assert
+        var lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":\"31301-a1\""));
+        assertTrue(lines[1].contains("\"title_en\":\"Practical nurse\""));
+        verify(repository, times(3)).exportPage(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void testExport_Csv_WritesHeaderAndEscapesFields() throws Exception {
+        // Arrange
+        stubTwoPages();
+
+        // Act
+        var output = new ByteArrayOutputStream();
+        exporter.export("nurse", "en", JobTitleExporter.Format.CSV, output);
+
+        // Assert
+        var lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("id,noc_code,title_en,title_fr,description_en,description_fr,category,skill_level", lines[0]);
+        assertEquals("31301-a1,31301,\"Nurse, registered\",Infirmière,\"Cares for \"\"patients\"\"\",,Health,A", lines[1]);
+        assertEquals(3, lines.length);
+    }
+
+    @Test
+    void testExport_InteractiveSearchesShed_StillStreamsEveryPage() throws Exception {
+        // Arrange: no interactive permits, so a page taken from that pool would be shed mid-stream
+        var bulkhead = new SolrBulkhead(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(bulkhead, "maxConcurrent", 0);
+        ReflectionTestUtils.invokeMethod(bulkhead, "init");
+        var solrClient = mock(SolrClient.class);
+        var solrRepository = new JobTitleRepository(solrClient, solrClient, bulkhead, new SimpleMeterRegistry());
+        firstDoc.setField("id", "31301-a1");
+        secondDoc.setField("id", "32101-b2");
+        var firstPage = page(firstDoc, "AoE1");
+        var secondPage = page(secondDoc, "AoE2");
+        var lastPage = page(null, "AoE2");
+        when(solrClient.query(any(SolrQuery.class))).thenReturn(firstPage, secondPage, lastPage);
+        var bulkExporter = new JobTitleExporter(solrRepository, new ObjectMapper());
+        ReflectionTestUtils.setField(bulkExporter, "pageSize", 1);
+
+        // Act
+        var output = new ByteArrayOutputStream();
+        long exported = bulkExporter.export("nurse", "en", JobTitleExporter.Format.NDJSON, output);
+
+        // Assert
+        assertEquals(2, exported);
+        assertEquals(2, output.toString(StandardCharsets.UTF_8).split("\n").length);
+        assertThrows(SearchUnavailableException.class, () -> solrRepository.search("nurse", "en", 0, 10));
+    }
+
+    @Test
+    void testExport_PageFailsMidStream_WritesErrorMarkerAndRethrows() throws Exception {
+        // Arrange
+        firstDoc.setField("id", "31301-a1");
+        var firstPage = page(firstDoc, "AoE1");
+        when(repository.exportPage("nurse", "en", "*", 1)).thenReturn(firstPage);
+        when(repository.exportPage("nurse", "en", "AoE1", 1)).thenThrow(new SolrServerException("Solr went away"));
+        when(repository.documentToJobTitle(firstDoc)).thenReturn(new JobTitle(
+                "31301-a1", "31301", "Registered nurse", "", "", "", "Health", "A"));
+
+        // Act
+        var output = new ByteArrayOutputStream();
+        assertThrows(SearchException.class,
+                () -> exporter.export("nurse", "en", JobTitleExporter.Format.NDJSON, output));
+
+        // Assert
+        var lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":\"31301-a1\""));
+        assertTrue(lines[1].startsWith("{\"error\":\"Export failed after 1 job titles"));
+    }
+
+    @Test
+    void testWriteCsvField_PlainValueIsNotQuoted() throws Exception {
+        var writer = new StringWriter();
+        JobTitleExporter.writeCsvField(writer, "Developer");
+        assertEquals("Developer", writer.toString());
+    }
+
+    private void stubTwoPages() throws Exception {
+        firstDoc.setField("id", "31301-a1");
+        secondDoc.setField("id", "32101-b2");
+        var firstPage = page(firstDoc, "AoE1");
+        var secondPage = page(secondDoc, "AoE2");
+        var lastPage = page(null, "AoE2");
+        when(repository.exportPage("nurse", "en", "*", 1)).thenReturn(firstPage);
+        when(repository.exportPage("nurse", "en", "AoE1", 1)).thenReturn(secondPage);
+        when(repository.exportPage("nurse", "en", "AoE2", 1)).thenReturn(lastPage);
+        when(repository.documentToJobTitle(firstDoc)).thenReturn(new JobTitle(
+                "31301-a1", "31301", "Nurse, registered", "Infirmière", "Cares for \"patients\"", "", "Health", "A"));
+        when(repository.documentToJobTitle(secondDoc)).thenReturn(new JobTitle(
+                "32101-b2", "32101", "Practical nurse", "", "", "", "Health", "B"));
+    }
+
+    private QueryResponse page(SolrDocument doc, String nextCursorMark) {
+        var docs = new SolrDocumentList();
+        if (doc != null) {
+            docs.add(doc);
+        }
+        var response = mock(QueryResponse.class);
+        when(response.getResults()).thenReturn(docs);
+        when(response.getNextCursorMark()).thenReturn(nextCursorMark);
+        return response;
+    }
+}
@@ -1,21 +1,36 @@
 package com.bet99.exercise.jobsearch.service;
 
+import com.bet99.exercise.jobsearch.cache.IndexGeneration;
+import com.bet99.exercise.jobsearch.cache.JobTitleStore;
 import com.bet99.exercise.jobsearch.dto.SearchRequest;
 import com.bet99.exercise.jobsearch.dto.SearchResponse;
+import com.bet99.exercise.jobsearch.exception.InvalidCursorException;
+import com.bet99.exercise.jobsearch.exception.SearchException;
+import com.bet99.exercise.jobsearch.exception.SearchUnavailableException;
 import com.bet99.exercise.jobsearch.model.JobTitle;
+import com.bet99.exercise.jobsearch.query.QueryNormalizer;
+import com.bet99.exercise.jobsearch.query.QueryStatsRecorder;
 import com.bet99.exercise.jobsearch.repository.JobTitleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.SolrException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -27,6 +42,21 @@ class JobTitleServiceTest {
     @Mock
     private JobTitleRepository repository;
 
+    @Mock
+    private IndexGeneration indexGeneration;
+
+    @Spy
+    private QueryNormalizer queryNormalizer = new QueryNormalizer();
+
+    @Spy
+    private JobTitleStore jobTitleStore = new JobTitleStore();
+
+    @Spy
+    private QueryStatsRecorder queryStats = new QueryStatsRecorder();
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private JobTitleService service;
 
@@ -62,6 +92,128 @@ class JobTitleServiceTest {
         assertTrue(response.results().isEmpty());
     }
 
+    @Test
+    void testSearch_SendsNormalizedQueryToSolr() throws Exception {
+        // Arrange
+        SearchRequest request = new SearchRequest("  Législateur   EN chef ", "fr", 0, 10);
+        QueryResponse mockQueryResponse = mock(QueryResponse.class);
+        SolrDocumentList mockDocList = new SolrDocumentList();
+
+        when(repository.search("legislateur en chef", "fr", 0, 10)).thenReturn(mockQueryResponse);
+        when(mockQueryResponse.getResults()).thenReturn(mockDocList);
+        when(repository.documentsToJobTitles(mockDocList)).thenReturn(List.of());
+
+        // Act
+        service.search(request);
+
+        // Assert
+        verify(repository).search("legislateur en chef", "fr", 0, 10);
+    }
+
+    @Test
+    void testSearch_RecordsSolrQueryAndNetworkTime() throws Exception {
+        // Arrange
+        SearchRequest request = new SearchRequest("legislator", "en", 0, 10);
+        QueryResponse mockQueryResponse = mock(QueryResponse.class);
+        SolrDocumentList mockDocList = new SolrDocumentList();
+
+        when(repository.search("legislator", "en", 0, 10)).thenReturn(mockQueryResponse);
+        when(mockQueryResponse.getResults()).thenReturn(mockDocList);
+        when(mockQueryResponse.getQTime()).thenReturn(12);
+        when(mockQueryResponse.getElapsedTime()).thenReturn(20L);
+        when(repository.documentsToJobTitles(mockDocList)).thenReturn(List.of());
+
+        // Act
+        service.search(request);
+
+        // Assert
+        assertEquals(12.0, phaseTime("solr_qtime"));
+        assertEquals(8.0, phaseTime("solr_network"));
+        verify(queryStats).noteSolrQTime(12);
+        assertEquals(1, meterRegistry.get("jobsearch.search.phase").tag("phase", "mapping").timer().count());
+    }
+
+    @Test
+    void testSearch_WithCursor_ReturnsNextCursor() throws Exception {
+        // Arrange
+        SearchRequest request = new SearchRequest("legislator", "en", 0, 10, SearchRequest.FIRST_CURSOR);
+        QueryResponse mockQueryResponse = mock(QueryResponse.class);
+        SolrDocumentList mockDocList = new SolrDocumentList();
+        mockDocList.setNumFound(25);
+
+        when(repository.searchAfter("legislator", "en", "*", 10)).thenReturn(mockQueryResponse);
+        when(mockQueryResponse.getResults()).thenReturn(mockDocList);
+        when(mockQueryResponse.getNextCursorMark()).thenReturn("AoE/BjE=");
+        when(repository.documentsToJobTitles(mockDocList)).thenReturn(List.of(testJobTitle));
+
+        // Act
+        SearchResponse response = service.search(request);
+
+        // Assert
+        assertEquals("AoE/BjE=", response.nextCursor());
+        assertEquals(25, response.totalCount());
+        verify(repository, never()).search(anyString(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testSearch_WithExhaustedCursor_ReturnsNoNextCursor() throws Exception {
+        // Arrange
+        SearchRequest request = new SearchRequest("legislator", "en", 0, 10, "AoE/BjE=");
+        QueryResponse mockQueryResponse = mock(QueryResponse.class);
+        SolrDocumentList mockDocList = new SolrDocumentList();
+
+        when(repository.searchAfter("legislator", "en", "AoE/BjE=", 10)).thenReturn(mockQueryResponse);
+        when(mockQueryResponse.getResults()).thenReturn(mockDocList);
+        when(mockQueryResponse.getNextCursorMark()).thenReturn("AoE/BjE=");
+        when(repository.documentsToJobTitles(mockDocList)).thenReturn(List.of());
+
+        // Act
+        SearchResponse response = service.search(request);
+
+        // Assert
+        assertNull(response.nextCursor());
+    }
+
+    @Test
+    void testSearch_WithMalformedCursor_ThrowsInvalidCursor() throws Exception {
+        // Arrange
+        SearchRequest request = new SearchRequest("legislator", "en", 0, 10, "bogus");
+        when(repository.searchAfter("legislator", "en", "bogus", 10)).thenThrow(new SolrException(
+                SolrException.ErrorCode.BAD_REQUEST, "Unable to parse 'cursorMark' after totem: bogus"));
+
+        // Act & Assert
+        var exception = assertThrows(InvalidCursorException.class, () -> service.search(request));
+        assertEquals("Invalid search cursor", exception.getMessage());
+    }
+
+    @Test
+    void testSearch_WithCursor_SolrServerError_ThrowsSearchFailure() throws Exception {
+        // Arrange
+        SearchRequest request = new SearchRequest("legislator", "en", 0, 10, "AoE/BjE=");
+        when(repository.searchAfter("legislator", "en", "AoE/BjE=", 10)).thenThrow(new SolrException(
+                SolrException.ErrorCode.SERVER_ERROR, "No live SolrServers available to handle this request"));
+
+        // Act & Assert
+        var exception = assertThrows(SearchException.class, () -> service.search(request));
+        assertEquals("Failed to search job titles", exception.getMessage());
+    }
+
+    @Test
+    void testSearchAsync_SolrTimeout_FailsAsUnavailable() {
+        // Arrange
+        var timeout = new SolrServerException("Timeout occurred while waiting response from server",
+                new TimeoutException());
+        when(repository.searchAsync("legislator", "en", 0, 10))
+                .thenReturn(CompletableFuture.failedFuture(new CompletionException(timeout)));
+
+        // Act
+        var future = service.searchAsync(new SearchRequest("Legislator", "en", 0, 10), qTime -> { });
+
+        // Assert
+        var failure = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SearchUnavailableException.class, failure.getCause());
+    }
+
     @Test
     void testIndexJobTitle_Success() throws Exception {
         // Arrange
@@ -70,6 +222,8 @@ class JobTitleServiceTest {
         // Act & Assert - should not throw
         assertDoesNotThrow(() -> service.indexJobTitle(testJobTitle));
         verify(repository, times(1)).index(testJobTitle);
+        verify(indexGeneration, times(1)).bump();
+        assertEquals(List.of(testJobTitle), jobTitleStore.getAll(List.of("1")).orElseThrow());
     }
 
     @Test
@@ -81,6 +235,33 @@ class JobTitleServiceTest {
         // Act & Assert
         assertDoesNotThrow(() -> service.indexJobTitles(jobs));
         verify(repository, times(1)).indexBatch(jobs);
+        verify(indexGeneration, times(1)).bump();
+    }
+
+    @Test
+    void testIndexJobTitleBatch_DoesNotCommitOrBumpGeneration() throws Exception {
+        // Arrange
+        List<JobTitle> jobs = List.of(testJobTitle);
+        doNothing().when(repository).addBatch(anyList());
+
+        // Act
+        service.indexJobTitleBatch(jobs);
+        service.indexJobTitleBatch(jobs);
+
+        // Assert
+        verify(repository, times(2)).addBatch(jobs);
+        verify(repository, never()).commit();
+        verifyNoInteractions(indexGeneration);
+    }
+
+    @Test
+    void testCompleteLoad_CommitsAndBumpsGenerationOnce() throws Exception {
+        // Act
+        service.completeLoad();
+
+        // Assert
+        verify(repository, times(1)).commit();
+        verify(indexGeneration, times(1)).bump();
     }
 
     @Test
@@ -92,4 +273,9 @@ class JobTitleServiceTest {
         assertDoesNotThrow(() -> service.clearIndex());
         verify(repository, times(1)).deleteAll();
     }
-}
\ No newline at end of file
+
+    private double phaseTime(String phase) {
+        return meterRegistry.get("jobsearch.search.phase").tag("phase", phase).timer()
+                .totalTime(TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,62 @@
+package com.bet99.exercise.jobsearch.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitlePrefixIndexTest {
+
+    private final TitlePrefixIndex index = TitlePrefixIndex.build(List.of(
+            "Software developer", "Web developer", "Développeur de logiciels",
+            "Senior software engineer", "Soft drink maker", "Developer", "Cook", " Software developer "));
+
+    @Test
+    void testLookup_RanksTitleStartBeforeMidTitleMatches() {
+        assertEquals(List.of("Developer", "Développeur de logiciels", "Web developer", "Software developer"),
+                index.lookup("dev", 10));
+    }
+
+    @Test
+    void testLookup_IgnoresCaseAndAccents() {
+        assertEquals(List.of("Développeur de logiciels"), index.lookup("DEVELOPPEUR", 10));
+    }
+
+    @Test
+    void testLookup_MatchesAcrossWords() {
+        assertEquals(List.of("Software developer"), index.lookup("software d", 10));
+    }
+
+    @Test
+    void testLookup_RespectsLimitAndSkipsDuplicates() {
+        assertEquals(7, index.size());
+        assertEquals(List.of("Soft drink maker"), index.lookup("soft", 1));
+        assertEquals(3, index.lookup("soft", 10).size());
+    }
+
+    @Test
+    void testLookup_BestMatchAfterThousandsOfOthers_RanksFirst() {
+        // Arrange: "Nurse zz" sorts after every "nurse a...." word start in the index
+        var source = new ArrayList<String>();
+        for (int i = 0; i < 3000; i++) {
+            source.add(String.format("Assistant nurse a%04d", i));
+        }
+        source.add("Nurse zz");
+        var large = TitlePrefixIndex.build(source);
+
+        // Act
+        var results = large.lookup("nurse", 3);
+
+        // Assert
+        assertEquals(List.of("Nurse zz", "Assistant nurse a0000", "Assistant nurse a0001"), results);
+    }
+
+    @Test
+    void testLookup_NoMatchOrEmptyPrefix_ReturnsEmpty() {
+        assertTrue(index.lookup("xyz", 10).isEmpty());
+        assertTrue(index.lookup("  ", 10).isEmpty());
+        assertTrue(TitlePrefixIndex.empty().lookup("dev", 10).isEmpty());
+    }
+}
@@ -0,0 +1,33 @@
+package com.bet99.exercise.jobsearch.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HashingTest {
+
+    @Test
+    void testSha256_String_MatchesKnownDigest() {
+        // Act
+        var digest = Hashing.sha256("abc");
+
+        // Assert
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                HexFormat.of().formatHex(digest));
+    }
+
+    @Test
+    void testSha256_Digest_MatchesOneShotHash() {
+        // Arrange
+        var digest = Hashing.sha256();
+
+        // Act
+        digest.update("a".getBytes());
+        digest.update("bc".getBytes());
+
+        // Assert
+        assertEquals(HexFormat.of().formatHex(Hashing.sha256("abc")), HexFormat.of().formatHex(digest.digest()));
+    }
+}